@@ -0,0 +1,155 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.benchmark;
+
+import es.elixir.bsc.json.schema.BatchValidation;
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Multi-threaded validation throughput (documents per second) of one shared schema.
+ * 
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java \
+ *     -Dexec.mainClass=es.elixir.bsc.json.schema.benchmark.BatchValidationBenchmark
+ * </pre>
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchValidationBenchmark {
+    
+    private final static String SCHEMA =
+            "{\"type\": \"object\", \"required\": [\"id\", \"name\"], \"properties\": {" +
+            "\"id\": {\"type\": \"integer\", \"minimum\": 0}, " +
+            "\"name\": {\"type\": \"string\", \"maxLength\": 64}, " +
+            "\"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}, \"uniqueItems\": true}, " +
+            "\"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#\"}}}}";
+
+    private final static int BATCH_SIZE = 1000;
+
+    @Param({"1", "4", "16", "64"})
+    public int concurrency;
+
+    private JsonSchema schema;
+    private List<JsonValue> documents;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws JsonSchemaException {
+        final DefaultJsonSchemaLocator locator = new DefaultJsonSchemaLocator(URI.create("urn:benchmark:batch"));
+        locator.setSchema(Json.createReader(new StringReader(SCHEMA)).readValue());
+        schema = JsonSchemaReader.getReader().read(locator);
+
+        documents = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            documents.add(document(i, 3));
+        }
+        executor = BatchValidation.newExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Validates the batch sequentially in the benchmark thread.
+     */
+    @Benchmark
+    public int sequential() {
+        int valid = 0;
+        for (JsonValue document : documents) {
+            if (schema.validate(document, new ArrayList<ValidationError>())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Validates the batch with validateAll().
+     */
+    @Benchmark
+    public boolean[] batch() {
+        return schema.validateAll(documents.stream(), executor, concurrency);
+    }
+
+    private static JsonValue document(int id, int depth) {
+        final JsonArrayBuilder tags = Json.createArrayBuilder();
+        for (int i = 0; i < 5; i++) {
+            tags.add("tag" + (id + i));
+        }
+        final JsonObjectBuilder object = Json.createObjectBuilder()
+                .add("id", id)
+                .add("name", "document " + id)
+                .add("tags", tags);
+        if (depth > 0) {
+            final JsonArrayBuilder children = Json.createArrayBuilder();
+            for (int i = 0; i < 3; i++) {
+                children.add(document(id * 3 + i, depth - 1));
+            }
+            object.add("children", children);
+        }
+        return object.build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(BatchValidationBenchmark.class.getName())
+                .forks(0) // exec:java classpath is not visible to forked JVMs
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build()).run();
+    }
+}
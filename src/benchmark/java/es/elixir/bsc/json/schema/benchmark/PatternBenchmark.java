@@ -0,0 +1,146 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.benchmark;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import javax.json.JsonString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 'pattern' matching throughput over the corpus of patterns found in real schemas
+ * (identifiers prefixes, codes, hashes, URLs).
+ * The 'schema' benchmark validates strings against the 'pattern' schemas
+ * while the 'regex' benchmark matches the same strings with java.util.regex.
+ * 
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java \
+ *     -Dexec.mainClass=es.elixir.bsc.json.schema.benchmark.PatternBenchmark
+ * </pre>
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PatternBenchmark {
+    
+    // pattern followed by the matching and not matching strings
+    private final static String[][] CORPUS = {
+        {"^ABC_", "ABC_123", "XYZ_123"},
+        {"^https://", "https://example.org/path", "http://example.org/path"},
+        {"^x-", "x-internal-id", "internal-id"},
+        {"\\.json$", "schema.json", "schema.yaml"},
+        {"^[0-9]+$", "1234567890", "12345a"},
+        {"^[a-z]{2}$", "en", "eng"},
+        {"^[A-Z]{3}$", "EUR", "EU"},
+        {"^[0-9a-f]{40}$", "da39a3ee5e6b4b0d3255bfef95601890afd80709", "da39a3ee5e6b4b0d3255bfef95601890afd8070g"},
+        {"^GO:\\d{7}$", "GO:0008150", "GO:000815"},
+        {"^[A-Za-z0-9_-]+$", "user_name-01", "user name"},
+        {"^\\S+$", "no-spaces", "has spaces"},
+        {"^(https?|ftp)://", "ftp://example.org", "file:///tmp"},
+        {"^\\d{4}-\\d{2}-\\d{2}$", "2024-01-31", "2024-1-31"},
+        {"^[a-zA-Z][a-zA-Z0-9_]*$", "variable_1", "1variable"}};
+
+    private List<JsonSchema> schemas;
+    private List<Pattern> patterns;
+    private List<JsonString> strings;
+
+    @Setup(Level.Trial)
+    public void setup() throws JsonSchemaException {
+        schemas = new ArrayList<>();
+        patterns = new ArrayList<>();
+        strings = new ArrayList<>();
+        for (int i = 0; i < CORPUS.length; i++) {
+            final DefaultJsonSchemaLocator locator = new DefaultJsonSchemaLocator(
+                    URI.create("urn:benchmark:pattern:" + i));
+            locator.setSchema(Json.createObjectBuilder()
+                    .add("type", "string").add("pattern", CORPUS[i][0]).build());
+            final JsonSchema schema = JsonSchemaReader.getReader().read(locator);
+            final Pattern pattern = Pattern.compile(CORPUS[i][0]);
+            for (int j = 1; j < CORPUS[i].length; j++) {
+                schemas.add(schema);
+                patterns.add(pattern);
+                strings.add(Json.createValue(CORPUS[i][j]));
+            }
+        }
+    }
+
+    /**
+     * Validates strings against the 'pattern' schemas.
+     */
+    @Benchmark
+    public int schema() {
+        int valid = 0;
+        for (int i = 0, n = strings.size(); i < n; i++) {
+            if (schemas.get(i).validate(strings.get(i), new ArrayList<ValidationError>())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Matches the same strings with java.util.regex (the baseline).
+     */
+    @Benchmark
+    public int regex() {
+        int valid = 0;
+        for (int i = 0, n = strings.size(); i < n; i++) {
+            if (patterns.get(i).matcher(strings.get(i).getString()).find()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PatternBenchmark.class.getName())
+                .forks(0) // exec:java classpath is not visible to forked JVMs
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build()).run();
+    }
+}
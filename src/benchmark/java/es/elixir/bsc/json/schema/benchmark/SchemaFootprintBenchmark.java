@@ -0,0 +1,260 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.benchmark;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+/**
+ * Measures the heap retained by parsed Json Schemas.
+ * 
+ * The corpus is either provided as a list of directories/files or the
+ * json-schema-org test suite is used.
+ * Each schema is parsed several times ('-Dcopies=N') and all parsed schemas
+ * are kept reachable while the heap is measured.
+ * The large string 'enum' case ('-Denum=N' strings, 100000 by default) compares 
+ * the packed dictionaries with the Json-P values they replace.
+ * 
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java \
+ *     -Dexec.mainClass=es.elixir.bsc.json.schema.benchmark.SchemaFootprintBenchmark
+ * </pre>
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class SchemaFootprintBenchmark {
+    
+    private final static String DEFAULT_CORPUS = "src/test/resources/json-schema-org/tests";
+    
+    private final static int ENUM_COPIES = 5;
+
+    public static void main(String[] args) throws Exception {
+        final int copies = Integer.getInteger("copies", 20);
+
+        final List<String> corpus = new ArrayList<>();
+        for (String dir : args.length > 0 ? args : new String[] {DEFAULT_CORPUS}) {
+            load(Paths.get(dir), corpus);
+        }
+        
+        System.out.printf("corpus: %d schemas, %d copies\n", corpus.size(), copies);
+        
+        measure("default", new JsonSchemaParserConfig(), corpus, copies);
+        measure("deduplicate", new JsonSchemaParserConfig()
+                .setDeduplicateSubschemas(true), corpus, copies);
+        measure("compact", new JsonSchemaParserConfig()
+                .setCompactAfterResolve(true), corpus, copies);
+        measure("deduplicate + compact", new JsonSchemaParserConfig()
+                .setDeduplicateSubschemas(true)
+                .setCompactAfterResolve(true), corpus, copies);
+
+        final int size = Integer.getInteger("enum", 100000);
+        System.out.printf("enum: %d strings, %d copies\n", size, ENUM_COPIES);
+
+        measureEnum("json-p values", null, size);
+        measureEnum("dictionary", new JsonSchemaParserConfig(), size);
+        measureEnum("off-heap dictionary", new JsonSchemaParserConfig()
+                .setOffHeapEnums(true), size);
+    }
+
+    /**
+     * Measures the memory retained by the schemas with large string enums.
+     * Every copy has its own strings, so dictionaries are not shared.
+     * 
+     * @param config the parser configuration or null to keep Json-P values only
+     */
+    private static void measureEnum(String name, JsonSchemaParserConfig config, int size) 
+            throws JsonSchemaException {
+        final long before = usedMemory();
+        final long direct = directMemory();
+
+        final List<Object> retained = new ArrayList<>(ENUM_COPIES);
+        for (int n = 0; n < ENUM_COPIES; n++) {
+            final JsonArrayBuilder terms = Json.createArrayBuilder();
+            for (int i = 0; i < size; i++) {
+                terms.add("http://purl.obolibrary.org/obo/TERM_" + n + "_" + i);
+            }
+            if (config == null) {
+                retained.add(terms.build());
+            } else {
+                final EnumLocator locator = new EnumLocator(URI.create("urn:benchmark:enum:" + n));
+                locator.setSchema(Json.createObjectBuilder().add("enum", terms).build());
+                retained.add(JsonSchemaReader.getReader(config).read(locator));
+                locator.release();
+            }
+        }
+        
+        final long heap = usedMemory() - before;
+        final long offheap = directMemory() - direct;
+        System.out.printf("%-24s %10d KB heap %10d KB direct %8d bytes/string\n",
+                name, heap / 1024, offheap / 1024, (heap + offheap) / ((long)size * ENUM_COPIES));
+        
+        retained.clear();
+    }
+
+    private static void measure(String name, JsonSchemaParserConfig config, 
+            List<String> corpus, int copies) {
+        
+        final long before = usedMemory();
+        final long start = System.nanoTime();
+
+        final List<JsonSchema> schemas = new ArrayList<>(corpus.size() * copies);
+        int failed = 0;
+        for (int n = 0; n < copies; n++) {
+            for (int i = 0, m = corpus.size(); i < m; i++) {
+                final JsonSchema schema = read(config, n, i, corpus.get(i));
+                if (schema != null) {
+                    schemas.add(schema);
+                } else {
+                    failed++;
+                }
+            }
+        }
+        
+        final long time = System.nanoTime() - start;
+        final long after = usedMemory();
+
+        System.out.printf("%-24s %8d schemas %6d failed %10d KB retained %8d bytes/schema %6d ms\n",
+                name, schemas.size(), failed, (after - before) / 1024, 
+                schemas.isEmpty() ? 0 : (after - before) / schemas.size(), time / 1000000);
+        
+        schemas.clear();
+    }
+    
+    private static JsonSchema read(JsonSchemaParserConfig config, int copy, int idx, String json) {
+        // each copy gets its own locator and Json document
+        final JsonValue value;
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            value = reader.readValue();
+        }
+        final DefaultJsonSchemaLocator locator = new DefaultJsonSchemaLocator(
+                URI.create("urn:benchmark:" + copy + ":" + idx));
+        locator.setSchema(value);
+        
+        try {
+            final JsonSchema schema = JsonSchemaReader.getReader(config).read(locator);
+            // resolve all the references
+            schema.getChildren().forEach(e -> {});
+            return schema;
+        } catch (JsonSchemaException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads json files. The json-schema-org test files are arrays of 
+     * { "schema" : ..., "tests" : [...] } objects. Other files are schemas.
+     */
+    private static void load(Path path, List<String> corpus) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>)files::iterator) {
+                if (!file.toString().endsWith(".json")) {
+                    continue;
+                }
+                final JsonValue value;
+                try (JsonReader reader = Json.createReader(Files.newBufferedReader(file))) {
+                    value = reader.readValue();
+                } catch (RuntimeException ex) {
+                    continue;
+                }
+                if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+                    for (JsonValue test : value.asJsonArray()) {
+                        if (test.getValueType() == JsonValue.ValueType.OBJECT) {
+                            final JsonValue schema = test.asJsonObject().get("schema");
+                            if (schema != null) {
+                                add(schema.toString(), corpus);
+                            }
+                        }
+                    }
+                } else {
+                    add(value.toString(), corpus);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Skips schemas with remote references, so nothing is downloaded.
+     */
+    private static void add(String schema, List<String> corpus) {
+        if (!schema.contains("\"$ref\":\"http")) {
+            corpus.add(schema);
+        }
+    }
+    
+    /**
+     * The locator which drops Json documents, so only parsed schemas are measured.
+     */
+    private static class EnumLocator extends DefaultJsonSchemaLocator {
+        
+        EnumLocator(URI uri) {
+            super(uri);
+        }
+        
+        void release() {
+            schemas.clear();
+        }
+    }
+
+    private static long directMemory() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema;
+
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import javax.json.JsonValue;
+
+/**
+ * Concurrent validation of many Json documents against one schema.
+ * 
+ * Every document is validated by its own task, so documents waiting for
+ * remote references resolution do not block others. By default tasks run 
+ * on virtual threads when the runtime supports them.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public final class BatchValidation {
+    
+    public final static int DEFAULT_CONCURRENCY = 
+            4 * Runtime.getRuntime().availableProcessors();
+    
+    private final static int BLOCK_SIZE = 1024;
+
+    private BatchValidation() {}
+    
+    /**
+     * Validates the documents with the default executor and concurrency.
+     * 
+     * @param schema the schema to validate documents against
+     * @param values the documents to validate
+     * 
+     * @return validation outcomes in the documents order
+     */
+    public static boolean[] validate(JsonSchema schema, Stream<? extends JsonValue> values) {
+        final ExecutorService executor = newExecutor();
+        try {
+            return validate(schema, values, executor, DEFAULT_CONCURRENCY);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Validates the documents.
+     * 
+     * @param schema the schema to validate documents against
+     * @param values the documents to validate
+     * @param executor the executor to run validation tasks
+     * @param concurrency the maximum number of documents validated at once
+     *        (values less than 1 are treated as 1)
+     * 
+     * @return validation outcomes in the documents order
+     */
+    public static boolean[] validate(JsonSchema schema, Stream<? extends JsonValue> values,
+            Executor executor, int concurrency) {
+
+        final int limit = Math.max(1, concurrency);
+        final Semaphore permits = new Semaphore(limit);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        // outcomes are written into fixed blocks, so no resizing races
+        final List<boolean[]> blocks = new ArrayList<>();
+        int size = 0;
+        try {
+            for (Iterator<? extends JsonValue> iter = values.iterator(); 
+                    iter.hasNext() && failure.get() == null; size++) {
+                final JsonValue value = iter.next();
+                if (size % BLOCK_SIZE == 0) {
+                    blocks.add(new boolean[BLOCK_SIZE]);
+                }
+                final boolean[] block = blocks.get(size / BLOCK_SIZE);
+                final int idx = size % BLOCK_SIZE;
+
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            block[idx] = schema.validate(value, ValidationErrorSink.counting());
+                        } catch (Throwable th) {
+                            failure.compareAndSet(null, th);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    permits.release();
+                    throw ex;
+                }
+            }
+            // wait for all running tasks
+            permits.acquire(limit);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+        
+        final Throwable th = failure.get();
+        if (th instanceof RuntimeException ex) {
+            throw ex;
+        } else if (th instanceof Error err) {
+            throw err;
+        }
+
+        final boolean[] outcomes = new boolean[size];
+        for (int i = 0; i < size; i += BLOCK_SIZE) {
+            System.arraycopy(blocks.get(i / BLOCK_SIZE), 0, outcomes, i, Math.min(BLOCK_SIZE, size - i));
+        }
+        return outcomes;
+    }
+    
+    /**
+     * Creates the virtual thread per task executor when supported by the runtime
+     * (Java 21+), otherwise the cached threads pool.
+     * 
+     * @return new executor service
+     */
+    public static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService)Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema;
+
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+/**
+ * Bulk validator of the newline-delimited Json (JSON Lines) documents.
+ * 
+ * The input is split into chunks aligned on newlines which are validated
+ * in parallel by the executor. The results are returned in the records order.
+ * No more than 'window' chunks are read ahead of the results consumer,
+ * so the memory is bounded and the reading follows the consumption.
+ * Empty lines are counted, but produce no results.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonLinesValidator {
+    
+    public final static int DEFAULT_CHUNK_SIZE = 1 << 20;
+    
+    // memory mapped region size
+    private final static long MAPPING_SIZE = 1L << 28;
+    
+    private final static JsonParserFactory FACTORY = Json.createParserFactory(Map.of());
+
+    private final JsonSchema schema;
+    private final Executor executor;
+    private final int window;
+    private final int chunkSize;
+
+    public JsonLinesValidator(JsonSchema schema) {
+        this(schema, ForkJoinPool.commonPool(), 
+                2 * Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param schema Json Schema to validate records against
+     * @param executor the executor to run validation tasks
+     * @param window the maximum number of chunks being validated at once
+     * @param chunkSize the approximate size of the chunk in bytes
+     */
+    public JsonLinesValidator(JsonSchema schema, Executor executor, 
+            int window, int chunkSize) {
+        this.schema = schema;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Validates the JSON Lines file which is read through the memory mapping.
+     * The returned stream must be closed to release the file.
+     * 
+     * @param path the file to validate
+     * 
+     * @return the stream of validation results
+     * 
+     * @throws IOException 
+     */
+    public Stream<ValidationResult> validate(Path path) throws IOException {
+        return validate(new MappedChunks(FileChannel.open(path, StandardOpenOption.READ)));
+    }
+
+    /**
+     * Validates the JSON Lines stream.
+     * The returned stream must be closed to close the input stream.
+     * 
+     * @param in the input stream to validate
+     * 
+     * @return the stream of validation results
+     */
+    public Stream<ValidationResult> validate(InputStream in) {
+        return validate(new StreamChunks(in));
+    }
+
+    private Stream<ValidationResult> validate(Chunks chunks) {
+        final Results results = new Results(chunks);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, 
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(results::close);
+    }
+
+    /**
+     * Validates all lines in the chunk.
+     * 
+     * @return validation errors for every line or null for empty lines
+     */
+    private List<List<ValidationError>> validateChunk(ByteBuffer chunk) {
+        final List<List<ValidationError>> results = new ArrayList<>();
+        for (int start = chunk.position(), end = chunk.limit(), i = start; i < end; i++) {
+            if (chunk.get(i) == '\n' || i == end - 1) {
+                final int limit = chunk.get(i) == '\n' ? i : end;
+                results.add(validateLine(chunk.duplicate().position(start).limit(limit)));
+                start = i + 1;
+            }
+        }
+        return results;
+    }
+    
+    private List<ValidationError> validateLine(ByteBuffer line) {
+        while (line.hasRemaining() && isWhitespace(line.get(line.limit() - 1))) {
+            line.limit(line.limit() - 1);
+        }
+        while (line.hasRemaining() && isWhitespace(line.get(line.position()))) {
+            line.position(line.position() + 1);
+        }
+        if (!line.hasRemaining()) {
+            return null;
+        }
+        
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = FACTORY.createParser(new ByteBufferInputStream(line))) {
+            schema.validate(parser, errors, null);
+            if (parser.hasNext()) {
+                errors.add(new ValidationError("unexpected content after the record"));
+            }
+        } catch (JsonException | NoSuchElementException ex) {
+            errors.add(new ValidationError(ex.getMessage()));
+        }
+        return errors;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * Ordered results iterator which reads chunks ahead the consumption.
+     */
+    private class Results implements Iterator<ValidationResult>, Closeable {
+        
+        private final Chunks chunks;
+        private final Deque<CompletableFuture<List<List<ValidationError>>>> futures;
+        
+        private Iterator<List<ValidationError>> current;
+        private ValidationResult next;
+        private long record;
+        
+        Results(Chunks chunks) {
+            this.chunks = chunks;
+            futures = new ArrayDeque<>(window);
+            current = List.<List<ValidationError>>of().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (current.hasNext()) {
+                    record++;
+                    final List<ValidationError> errors = current.next();
+                    if (errors != null) {
+                        next = new ValidationResult(record, errors);
+                    }
+                } else {
+                    fill();
+                    final CompletableFuture<List<List<ValidationError>>> future = futures.poll();
+                    if (future == null) {
+                        return false;
+                    }
+                    try {
+                        current = future.join().iterator();
+                    } catch (CompletionException ex) {
+                        throw ex.getCause() instanceof RuntimeException re ? re : ex;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ValidationResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ValidationResult result = next;
+            next = null;
+            return result;
+        }
+
+        private void fill() {
+            try {
+                ByteBuffer chunk;
+                while (futures.size() < window && (chunk = chunks.next()) != null) {
+                    final ByteBuffer c = chunk;
+                    futures.add(CompletableFuture.supplyAsync(() -> validateChunk(c), executor));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            futures.forEach(f -> f.cancel(false));
+            futures.clear();
+            try {
+                chunks.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    private interface Chunks extends Closeable {
+        
+        /**
+         * @return the next chunk of complete lines or null at the end
+         */
+        ByteBuffer next() throws IOException;
+    }
+
+    /**
+     * Splits the memory mapped file into the chunks.
+     */
+    private class MappedChunks implements Chunks {
+        
+        private final FileChannel channel;
+        private final long size;
+        
+        private MappedByteBuffer mapping;
+        private long offset; // mapping offset in the file
+        private long position;
+
+        MappedChunks(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public ByteBuffer next() throws IOException {
+            while (position < size) {
+                if (mapping == null || position + chunkSize > offset + mapping.limit() && 
+                                       offset + mapping.limit() < size) {
+                    offset = position;
+                    mapping = channel.map(FileChannel.MapMode.READ_ONLY, offset, 
+                            Math.min(Math.max(MAPPING_SIZE, chunkSize), size - offset));
+                }
+
+                final int start = (int)(position - offset);
+                int end = Math.min(start + chunkSize, mapping.limit());
+                while (end < mapping.limit() && mapping.get(end - 1) != '\n') {
+                    end++;
+                }
+
+                if (end == mapping.limit() && offset + end < size && mapping.get(end - 1) != '\n') {
+                    if (start == 0) {
+                        throw new IOException("record is too long at " + position);
+                    }
+                    mapping = null; // remap from the line start
+                    continue;
+                }
+                position = offset + end;
+                return mapping.duplicate().position(start).limit(end).slice();
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads the input stream into the chunks.
+     */
+    private class StreamChunks implements Chunks {
+        
+        private final InputStream in;
+        
+        private byte[] rest = new byte[0];
+        private boolean eof;
+
+        StreamChunks(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public ByteBuffer next() throws IOException {
+            while (!eof || rest.length > 0) {
+                final byte[] buf = Arrays.copyOf(rest, Math.max(chunkSize, 2 * rest.length));
+                int len = rest.length;
+                while (!eof && len < buf.length) {
+                    final int n = in.read(buf, len, buf.length - len);
+                    if (n < 0) {
+                        eof = true;
+                    } else {
+                        len += n;
+                    }
+                }
+
+                int end = len;
+                if (!eof) {
+                    while (end > 0 && buf[end - 1] != '\n') {
+                        end--;
+                    }
+                }
+                rest = Arrays.copyOfRange(buf, end, len);
+                if (end > 0) {
+                    return ByteBuffer.wrap(buf, 0, end);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+    }
+}
@@ -84,4 +84,15 @@ public abstract class JsonSchemaLocator {
      * @return new locator that is able to return Json Schema.
      */
     public abstract JsonSchemaLocator resolve(URI uri);
+    
+    /**
+     * Release Json Schema documents held by this and all related locators.
+     * 
+     * The method is called once the schema is parsed and all its references 
+     * are resolved, so validation doesn't need raw Json documents anymore.
+     * Released documents must still be available via {@code getSchema()} 
+     * (i.e. re-read on demand), but may be slower to obtain.
+     * Default implementation does nothing.
+     */
+    public void compact() {}
 }
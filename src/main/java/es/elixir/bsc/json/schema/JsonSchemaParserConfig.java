@@ -34,9 +34,112 @@ import java.util.HashMap;
 public class JsonSchemaParserConfig extends HashMap<String, Object> {
 
     public final static String JSON_SCHEMA_VERSION = "$schema";
+    
+    /**
+     * When set to 'true' the reader resolves all references of the parsed schema
+     * and releases raw Json documents kept by the locator (see {@link JsonSchemaLocator#compact()}).
+     */
+    public final static String COMPACT_AFTER_RESOLVE = "compact";
+    
+    /**
+     * When set to 'true' the parser shares one parsed instance among structurally
+     * identical subschemas that neither define nor refer any identifiers.
+     * Note that validation errors for such subschemas report the location
+     * of the first parsed instance.
+     */
+    public final static String DEDUPLICATE_SUBSCHEMAS = "deduplicate";
+
+    /**
+     * The minimal number of array items (or object properties) to validate them
+     * in parallel using the common fork/join pool. Parallel validation reports 
+     * the same errors in the same order, but the validation callback may be called
+     * concurrently. Not set (or non-positive) means sequential validation.
+     */
+    public final static String PARALLEL_THRESHOLD = "parallel";
+
+    /**
+     * When set to 'true' the 'anyOf' and 'allOf' subschemas are evaluated in the
+     * order adapted to the validated data: branches that most often decide the
+     * result (per evaluation time) are tried first. The order is only changed 
+     * where the evaluation stops early, so validation results and reported errors
+     * stay the same.
+     */
+    public final static String ADAPTIVE_BRANCH_ORDER = "adaptive";
+
+    /**
+     * When set to 'true' large string 'enum' dictionaries are kept off-heap
+     * (in direct byte buffers).
+     */
+    public final static String OFF_HEAP_ENUMS = "offheap";
+
+    /**
+     * Default validation limits of the parsed schema (see {@link ValidationLimits}).
+     * The maximum number of errors after which the validation stops.
+     */
+    public final static String MAX_ERRORS = "maxErrors";
+
+    /**
+     * The maximum nesting depth of the validated Json value.
+     */
+    public final static String MAX_DEPTH = "maxDepth";
+
+    /**
+     * The maximum number of evaluation steps (schemas applied to values).
+     */
+    public final static String MAX_STEPS = "maxSteps";
+
+    /**
+     * The maximum validation time in milliseconds.
+     */
+    public final static String TIMEOUT = "timeout";
 
     public final JsonSchemaParserConfig setJsonSchemaVersion(JsonSchemaVersion version) {
         put(JSON_SCHEMA_VERSION, version);
         return this;
     }
+    
+    public final JsonSchemaParserConfig setCompactAfterResolve(boolean compact) {
+        put(COMPACT_AFTER_RESOLVE, compact);
+        return this;
+    }
+    
+    public final JsonSchemaParserConfig setDeduplicateSubschemas(boolean deduplicate) {
+        put(DEDUPLICATE_SUBSCHEMAS, deduplicate);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setParallelThreshold(int threshold) {
+        put(PARALLEL_THRESHOLD, threshold);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setAdaptiveBranchOrder(boolean adaptive) {
+        put(ADAPTIVE_BRANCH_ORDER, adaptive);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setOffHeapEnums(boolean offheap) {
+        put(OFF_HEAP_ENUMS, offheap);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setMaxErrors(int maxErrors) {
+        put(MAX_ERRORS, maxErrors);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setMaxDepth(int maxDepth) {
+        put(MAX_DEPTH, maxDepth);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setMaxSteps(long maxSteps) {
+        put(MAX_STEPS, maxSteps);
+        return this;
+    }
+
+    public final JsonSchemaParserConfig setTimeout(long millis) {
+        put(TIMEOUT, millis);
+        return this;
+    }
 }
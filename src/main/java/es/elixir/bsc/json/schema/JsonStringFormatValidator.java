@@ -32,6 +32,9 @@ package es.elixir.bsc.json.schema;
 public interface JsonStringFormatValidator {
     
     final String DATE_TIME = "date-time";
+    final String DATE = "date";
+    final String TIME = "time";
+    final String DURATION = "duration";
     final String EMAIL = "email";
     final String HOSTNAME = "hostname";
     final String IP4 = "ipv4";
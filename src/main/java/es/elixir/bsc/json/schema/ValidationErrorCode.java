@@ -92,4 +92,13 @@ public final class ValidationErrorCode {
     
     public final static int CONST_CONSTRAINT = 44;
 
+    public final static int VALIDATION_MAX_ERRORS_LIMIT = 45;
+    public final static int VALIDATION_MAX_DEPTH_LIMIT = 46;
+    public final static int VALIDATION_MAX_STEPS_LIMIT = 47;
+    public final static int VALIDATION_DEADLINE_LIMIT = 48;
+    
+    public final static int STRING_DATE_FORMAT_CONSTRAINT = 49;
+    public final static int STRING_TIME_FORMAT_CONSTRAINT = 50;
+    public final static int STRING_DURATION_FORMAT_CONSTRAINT = 51;
+
 }
@@ -0,0 +1,259 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The list of validation errors which may count, keep or stream the errors
+ * instead of collecting them all.
+ * 
+ * As a list, the sink contains only kept errors, while the number of all 
+ * reported errors is provided by the {@link #getCount()}.
+ * Speculatively validated branches (e.g. 'anyOf' subschemas) report errors 
+ * into the {@link #fork()} of the sink which may be later merged back.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public abstract class ValidationErrorSink extends AbstractList<ValidationError> {
+    
+    // the maximum number of errors buffered by the writer sink fork
+    private final static int WRITER_FORK_LIMIT = 1024;
+
+    protected final List<ValidationError> kept;
+    protected int count;
+
+    protected ValidationErrorSink(List<ValidationError> kept) {
+        this.kept = kept;
+    }
+    
+    /**
+     * @return the sink that only counts errors
+     */
+    public static ValidationErrorSink counting() {
+        return new FirstErrorsSink(0);
+    }
+
+    /**
+     * @param limit the maximum number of errors to keep
+     * 
+     * @return the sink that keeps first 'limit' errors and counts the rest
+     */
+    public static ValidationErrorSink first(int limit) {
+        return new FirstErrorsSink(limit);
+    }
+
+    /**
+     * @return the sink that keeps all errors
+     */
+    public static ValidationErrorSink collecting() {
+        return new FirstErrorsSink(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param writer the writer to write errors (one per line) to
+     * 
+     * @return the sink that writes errors as soon as they are reported
+     */
+    public static ValidationErrorSink writer(Writer writer) {
+        return new WriterSink(writer);
+    }
+
+    /**
+     * Creates the list for speculative validation which errors may be merged 
+     * into the 'errors' by the {@link #merge(List, List)}.
+     * 
+     * @param errors the list of errors
+     * 
+     * @return either the fork of the sink or the new array list
+     */
+    public static List<ValidationError> fork(List<ValidationError> errors) {
+        return errors instanceof ValidationErrorSink sink ? sink.fork() : new ArrayList<>();
+    }
+
+    /**
+     * Creates the sink for speculative validation which errors are discarded
+     * (only their number matters).
+     * 
+     * @param errors the list of errors
+     * 
+     * @return the counting sink
+     */
+    public static List<ValidationError> counter(List<ValidationError> errors) {
+        return errors instanceof ValidationErrorSink sink ? sink.counter() : counting();
+    }
+
+    /**
+     * Counts the errors reported into the list. Unlike the size() of the list,
+     * the count includes errors which were not kept by the sink.
+     * 
+     * @param errors the list of errors
+     * 
+     * @return the number of reported errors
+     */
+    public static int count(List<ValidationError> errors) {
+        return errors instanceof ValidationErrorSink sink ? sink.getCount() : errors.size();
+    }
+
+    /**
+     * Merges errors of the forked list back.
+     * 
+     * @param errors the list of errors
+     * @param fork the list created by the {@link #fork(List)}
+     */
+    public static void merge(List<ValidationError> errors, List<ValidationError> fork) {
+        if (errors instanceof ValidationErrorSink sink && 
+            fork instanceof ValidationErrorSink f) {
+            sink.merge(f);
+        } else {
+            errors.addAll(fork);
+        }
+    }
+
+    /**
+     * @return the sink for speculative validation
+     */
+    public abstract ValidationErrorSink fork();
+
+    /**
+     * @return the sink for speculative validation which errors are discarded
+     */
+    public ValidationErrorSink counter() {
+        return counting();
+    }
+
+    /**
+     * Merges errors reported into the forked sink.
+     * 
+     * @param fork the sink previously created by the {@link #fork()}
+     */
+    public void merge(ValidationErrorSink fork) {
+        for (ValidationError error : fork.kept) {
+            add(error);
+        }
+        count += fork.count - fork.kept.size();
+    }
+
+    @Override
+    public boolean add(ValidationError error) {
+        count++;
+        accept(error);
+        return true;
+    }
+
+    /**
+     * Process the reported error.
+     * 
+     * @param error the validation error
+     */
+    protected abstract void accept(ValidationError error);
+
+    /**
+     * @return the number of reported errors
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of kept errors
+     */
+    @Override
+    public int size() {
+        return kept.size();
+    }
+
+    /**
+     * @return the kept errors
+     */
+    public List<ValidationError> getErrors() {
+        return Collections.unmodifiableList(kept);
+    }
+
+    @Override
+    public ValidationError get(int index) {
+        return kept.get(index);
+    }
+
+    @Override
+    public Iterator<ValidationError> iterator() {
+        return getErrors().iterator();
+    }
+
+    private static class FirstErrorsSink extends ValidationErrorSink {
+        
+        private final int limit;
+
+        FirstErrorsSink(int limit) {
+            super(limit == 0 ? Collections.emptyList() : new ArrayList<>());
+            this.limit = limit;
+        }
+
+        @Override
+        public ValidationErrorSink fork() {
+            return new FirstErrorsSink(Math.max(0, limit - kept.size()));
+        }
+
+        @Override
+        protected void accept(ValidationError error) {
+            if (kept.size() < limit) {
+                kept.add(error);
+            }
+        }
+    }
+
+    private static class WriterSink extends ValidationErrorSink {
+        
+        private final Writer writer;
+
+        WriterSink(Writer writer) {
+            super(Collections.emptyList());
+            this.writer = writer;
+        }
+
+        @Override
+        public ValidationErrorSink fork() {
+            return new FirstErrorsSink(WRITER_FORK_LIMIT);
+        }
+
+        @Override
+        protected void accept(ValidationError error) {
+            try {
+                writer.write(String.format("%s %s [%d] %s%n", 
+                        error.path, error.pointer, error.code, error.message));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
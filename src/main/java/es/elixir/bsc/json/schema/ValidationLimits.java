@@ -0,0 +1,133 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resource limits of a single validation.
+ * 
+ * When a limit is reached the validation stops and reports the error with
+ * one of VALIDATION_*_LIMIT codes (see {@link ValidationErrorCode}).
+ * Non-positive (or null) values mean no limit.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationLimits {
+
+    private int maxErrors;
+    private int maxDepth;
+    private long maxSteps;
+    private Duration timeout;
+    private Instant deadline;
+
+    /**
+     * Creates the limits from the parser configuration properties
+     * (see {@link JsonSchemaParserConfig#MAX_ERRORS} and others).
+     * 
+     * @param properties the parser configuration properties
+     * 
+     * @return the limits or null if no limits are configured
+     */
+    public static ValidationLimits of(Map<String, Object> properties) {
+        final ValidationLimits limits = new ValidationLimits();
+        if (properties.get(JsonSchemaParserConfig.MAX_ERRORS) instanceof Number n) {
+            limits.setMaxErrors(n.intValue());
+        }
+        if (properties.get(JsonSchemaParserConfig.MAX_DEPTH) instanceof Number n) {
+            limits.setMaxDepth(n.intValue());
+        }
+        if (properties.get(JsonSchemaParserConfig.MAX_STEPS) instanceof Number n) {
+            limits.setMaxSteps(n.longValue());
+        }
+        if (properties.get(JsonSchemaParserConfig.TIMEOUT) instanceof Number n && n.longValue() > 0) {
+            limits.setTimeout(Duration.ofMillis(n.longValue()));
+        }
+        return limits.isUnlimited() ? null : limits;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public ValidationLimits setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public ValidationLimits setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    public ValidationLimits setMaxSteps(long maxSteps) {
+        this.maxSteps = maxSteps;
+        return this;
+    }
+
+    /**
+     * @return the maximum validation time counted from the validation start
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public ValidationLimits setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * @return the wall-clock time after which the validation stops
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public ValidationLimits setDeadline(Instant deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * @return 'true' if no limit is set
+     */
+    public boolean isUnlimited() {
+        return maxErrors <= 0 && maxDepth <= 0 && maxSteps <= 0 && 
+               timeout == null && deadline == null;
+    }
+}
@@ -76,6 +76,9 @@ public enum ValidationMessage {
     
     STRING_PATTERN_CONSTRAINT_MSG(STRING_PATTERN_CONSTRAINT, "string.pattern constraint '%s' %s"),
     STRING_DATE_TIME_FORMAT_CONSTRAINT_MSG(STRING_DATE_TIME_FORMAT_CONSTRAINT, "invalid datetime format: '%s'"),
+    STRING_DATE_FORMAT_CONSTRAINT_MSG(STRING_DATE_FORMAT_CONSTRAINT, "invalid date format: '%s'"),
+    STRING_TIME_FORMAT_CONSTRAINT_MSG(STRING_TIME_FORMAT_CONSTRAINT, "invalid time format: '%s'"),
+    STRING_DURATION_FORMAT_CONSTRAINT_MSG(STRING_DURATION_FORMAT_CONSTRAINT, "invalid duration format: '%s'"),
     STRING_EMAIL_FORMAT_CONSTRAINT_MSG(STRING_EMAIL_FORMAT_CONSTRAINT, "invalid email format: '%s'"),
     STRING_HOSTNAME_FORMAT_CONSTRAINT_MSG(STRING_HOSTNAME_FORMAT_CONSTRAINT, "invalid hostname format: '%s'"),
     STRING_IP4_FORMAT_CONSTRAINT_MSG(STRING_IP4_FORMAT_CONSTRAINT, "invalid IPv4 format: '%s'"),
@@ -92,7 +95,12 @@ public enum ValidationMessage {
     ENUM_INVALID_VALUE_TYPE_MSG(ENUM_INVALID_VALUE_TYPE, "invalid value type for enum: %s"),
     ENUM_INVALID_VALUE_MSG(ENUM_INVALID_VALUE, "value = %s enum.values = %s"),
     
-    CONST_CONSTRAINT_MSG(CONST_CONSTRAINT, "value = %s doesn't match const %s");
+    CONST_CONSTRAINT_MSG(CONST_CONSTRAINT, "value = %s doesn't match const %s"),
+
+    VALIDATION_MAX_ERRORS_LIMIT_MSG(VALIDATION_MAX_ERRORS_LIMIT, "validation stopped: maxErrors = %d reached"),
+    VALIDATION_MAX_DEPTH_LIMIT_MSG(VALIDATION_MAX_DEPTH_LIMIT, "validation stopped: value depth > maxDepth = %d"),
+    VALIDATION_MAX_STEPS_LIMIT_MSG(VALIDATION_MAX_STEPS_LIMIT, "validation stopped: evaluation steps > maxSteps = %d"),
+    VALIDATION_DEADLINE_LIMIT_MSG(VALIDATION_DEADLINE_LIMIT, "validation stopped: deadline exceeded");
     
     public final int CODE;
     public final String VALUE;
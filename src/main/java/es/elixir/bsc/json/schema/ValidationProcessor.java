@@ -0,0 +1,233 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema;
+
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.json.JsonValue;
+
+/**
+ * Reactive streams processor that validates Json documents.
+ * 
+ * Documents are validated in parallel by the executor, but the results are 
+ * emitted in the documents order. No more documents are requested from 
+ * the upstream than the downstream demand and the parallelism allow.
+ * The processor supports only one subscriber.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationProcessor implements Flow.Processor<JsonValue, ValidationResult> {
+    
+    private final JsonSchema schema;
+    private final Executor executor;
+    private final int parallelism;
+
+    private final Queue<CompletableFuture<ValidationResult>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super ValidationResult> downstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    
+    // the downstream protocol violation to be signalled by drain()
+    private volatile Throwable violation;
+
+    // number of the last received document
+    private long record;
+    
+    // requested from the upstream, but not yet emitted (accessed in drain() only)
+    private long pending;
+
+    public ValidationProcessor(JsonSchema schema) {
+        this(schema, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param schema Json Schema to validate documents against
+     * @param executor the executor to run validation tasks
+     * @param parallelism the maximum number of documents validated at once
+     */
+    public ValidationProcessor(JsonSchema schema, Executor executor, int parallelism) {
+        this.schema = schema;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ValidationResult> subscriber) {
+        synchronized(this) {
+            if (downstream == null) {
+                downstream = subscriber;
+                subscriber.onSubscribe(new Subscription());
+                drain();
+                return;
+            }
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override public void request(long n) {}
+            @Override public void cancel() {}
+        });
+        subscriber.onError(new IllegalStateException("only one subscriber is supported"));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+        } else {
+            upstream = subscription;
+            drain();
+        }
+    }
+
+    @Override
+    public void onNext(JsonValue value) {
+        final long n = ++record;
+        final CompletableFuture<ValidationResult> future = CompletableFuture.supplyAsync(() -> {
+            final List<ValidationError> errors = new ArrayList<>();
+            schema.validate(value, errors);
+            return new ValidationResult(n, errors);
+        }, executor);
+        queue.add(future);
+        future.whenComplete((r, th) -> drain());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Emits validated documents in order and requests more from the upstream.
+     * The method is serialized, so only one thread emits at a time.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final Flow.Subscriber<? super ValidationResult> subscriber = downstream;
+            if (cancelled) {
+                queue.clear();
+                final Throwable th = violation;
+                if (th != null && subscriber != null) {
+                    violation = null;
+                    subscriber.onError(th);
+                }
+            } else if (subscriber != null) {
+                CompletableFuture<ValidationResult> head;
+                while (demand.get() > 0 && (head = queue.peek()) != null && head.isDone()) {
+                    queue.poll();
+                    final ValidationResult result;
+                    try {
+                        result = head.join();
+                    } catch (CompletionException ex) {
+                        cancel();
+                        subscriber.onError(ex.getCause());
+                        break;
+                    }
+                    demand.decrementAndGet();
+                    pending--;
+                    subscriber.onNext(result);
+                }
+                
+                if (!cancelled) {
+                    final Flow.Subscription subscription = upstream;
+                    if (done && queue.isEmpty()) {
+                        cancelled = true;
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    } else if (!done && subscription != null) {
+                        final long n = Math.min(parallelism, demand.get()) - pending;
+                        if (n > 0) {
+                            pending += n;
+                            subscription.request(n);
+                        }
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void cancel() {
+        cancelled = true;
+        final Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        queue.forEach(f -> f.cancel(false));
+    }
+
+    private class Subscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                violation = new IllegalArgumentException("non-positive request: " + n);
+                ValidationProcessor.this.cancel();
+                drain();
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            ValidationProcessor.this.cancel();
+            drain();
+        }
+    }
+}
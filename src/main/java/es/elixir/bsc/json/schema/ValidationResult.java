@@ -0,0 +1,51 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema;
+
+import java.util.List;
+
+/**
+ * The validation result of one record (Json document) in a bulk validation.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationResult {
+    
+    /**
+     * The record number (starting from 1).
+     */
+    public final long record;
+    public final List<ValidationError> errors;
+
+    public ValidationResult(long record, List<ValidationError> errors) {
+        this.record = record;
+        this.errors = errors;
+    }
+    
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
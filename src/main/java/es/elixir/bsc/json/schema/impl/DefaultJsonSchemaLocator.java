@@ -32,16 +32,20 @@ import javax.json.JsonPointer;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonValue;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -57,14 +61,25 @@ public class DefaultJsonSchemaLocator extends JsonSchemaLocator {
                 .build();
 
     protected final Map<URI, JsonValue> schemas;
+    
+    /*
+     * Json documents released by the compact() method.
+     */
+    private final Map<URI, ReleasedSchema> released;
 
     public DefaultJsonSchemaLocator(URI uri) {
-        this(uri, new HashMap());
+        this(uri, new ConcurrentHashMap());
     }
     
     protected DefaultJsonSchemaLocator(URI uri, Map<URI, JsonValue> schemas) {
+        this(uri, schemas, new ConcurrentHashMap());
+    }
+
+    private DefaultJsonSchemaLocator(URI uri, Map<URI, JsonValue> schemas,
+            Map<URI, ReleasedSchema> released) {
         super(uri);
         this.schemas = schemas;
+        this.released = released;
     }
 
     @Override
@@ -82,11 +97,11 @@ public class DefaultJsonSchemaLocator extends JsonSchemaLocator {
     public JsonValue getSchema(URI uri, String jsonPointer)
             throws IOException, JsonException {
         
-        JsonValue schema = schemas.get(uri);
+        JsonValue schema = lookup(uri);
         if (schema == null) {
             try {
                 uri = new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
-                schema = schemas.get(uri);
+                schema = lookup(uri);
                 if (schema == null) {
                     InputStream in = null;
                     final String scheme = uri.getScheme();
@@ -145,9 +160,120 @@ public class DefaultJsonSchemaLocator extends JsonSchemaLocator {
         if (super.uri.isOpaque() && uri.getSchemeSpecificPart().isEmpty() && uri.getFragment() != null) {
             try {
                 return new DefaultJsonSchemaLocator(new URI(super.uri.getScheme(), 
-                        super.uri.getSchemeSpecificPart(), uri.getFragment()), schemas);
+                        super.uri.getSchemeSpecificPart(), uri.getFragment()), schemas, released);
             } catch(URISyntaxException ex) {}
         }
-        return new DefaultJsonSchemaLocator(super.uri.resolve(uri), schemas);
+        return new DefaultJsonSchemaLocator(super.uri.resolve(uri), schemas, released);
+    }
+
+    /**
+     * Moves all Json documents into the compact (serialized) storage.
+     * 
+     * Documents that are the part of other ones (i.e. '$id' or '$anchor' subschemas)
+     * are kept as Json Pointers into the enclosing documents, so every Json
+     * text is stored only once.
+     * Released documents are parsed back on demand and softly cached.
+     */
+    @Override
+    public void compact() {
+        
+        // the same json value may be registered under several URIs ('$anchor' of the root)
+        final Map<JsonValue, URI> roots = new IdentityHashMap();
+        for (Map.Entry<URI, JsonValue> entry : schemas.entrySet()) {
+            roots.putIfAbsent(entry.getValue(), entry.getKey());
+        }
+
+        final Map<JsonValue, ReleasedSchema> contained = new IdentityHashMap();
+        for (Map.Entry<JsonValue, URI> root : roots.entrySet()) {
+            collect(root.getKey(), "", root.getValue(), roots, contained);
+        }
+
+        for (Map.Entry<URI, JsonValue> entry : schemas.entrySet()) {
+            final URI id = entry.getKey();
+            final JsonValue value = entry.getValue();
+            final URI root = roots.get(value);
+            if (!id.equals(root)) {
+                released.put(id, new ReleasedSchema(root, "/"));
+            } else {
+                final ReleasedSchema container = contained.get(value);
+                released.put(id, container != null ? container : new ReleasedSchema(value));
+            }
+        }
+        schemas.clear();
+    }
+    
+    /**
+     * Finds registered Json documents which are nested into the 'value'.
+     */
+    private void collect(JsonValue value, String pointer, URI container,
+            Map<JsonValue, URI> roots, Map<JsonValue, ReleasedSchema> contained) {
+        switch(value.getValueType()) {
+            case OBJECT: for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                             final String name = entry.getKey().replace("~", "~0").replace("/", "~1");
+                             nested(entry.getValue(), pointer + "/" + name, container, roots, contained);
+                         }
+                         break;
+            case ARRAY:  for (int i = 0, n = value.asJsonArray().size(); i < n; i++) {
+                             nested(value.asJsonArray().get(i), pointer + "/" + i, container, roots, contained);
+                         }
+                         break;
+        }
+    }
+
+    private void nested(JsonValue value, String pointer, URI container,
+            Map<JsonValue, URI> roots, Map<JsonValue, ReleasedSchema> contained) {
+        if (roots.containsKey(value)) {
+            contained.putIfAbsent(value, new ReleasedSchema(container, pointer));
+        }
+        collect(value, pointer, container, roots, contained);
+    }
+
+    private JsonValue lookup(URI uri) throws IOException {
+        final JsonValue schema = schemas.get(uri);
+        if (schema != null) {
+            return schema;
+        }
+        final ReleasedSchema r = released.get(uri);
+        return r == null ? null : r.get();
+    }
+
+    /**
+     * Either a serialized Json document or a reference into another released one.
+     */
+    private class ReleasedSchema {
+
+        private final byte[] json;
+        private final URI container;
+        private final String pointer;
+        
+        private SoftReference<JsonValue> cache;
+        
+        ReleasedSchema(JsonValue value) {
+            this.json = value.toString().getBytes(StandardCharsets.UTF_8);
+            this.container = null;
+            this.pointer = null;
+            this.cache = new SoftReference(null);
+        }
+
+        ReleasedSchema(URI container, String pointer) {
+            this.json = null;
+            this.container = container;
+            this.pointer = pointer;
+        }
+        
+        JsonValue get() throws IOException {
+            if (json == null) {
+                return getSchema(container, pointer);
+            }
+            
+            JsonValue value = cache.get();
+            if (value == null) {
+                try (JsonReader reader = Json.createReader(new ByteArrayInputStream(json))) {
+                    value = reader.readValue();
+                }
+                cache = new SoftReference(value);
+            }
+            return value;
+        }
     }
 }
@@ -43,6 +43,9 @@ import es.elixir.bsc.json.schema.model.impl.JsonObjectSchemaImpl;
 import es.elixir.bsc.json.schema.model.impl.JsonSchemaUtil;
 import es.elixir.bsc.json.schema.model.impl.JsonStringSchemaImpl;
 import static es.elixir.bsc.json.schema.model.JsonConst.CONST;
+import es.elixir.bsc.json.schema.model.JsonDynamicReference;
+import es.elixir.bsc.json.schema.model.JsonObjectSchema;
+import es.elixir.bsc.json.schema.model.JsonRecursiveReference;
 import es.elixir.bsc.json.schema.model.JsonReference;
 import es.elixir.bsc.json.schema.model.JsonSchema;
 import static es.elixir.bsc.json.schema.model.PrimitiveSchema.TYPE;
@@ -54,7 +57,11 @@ import es.elixir.bsc.json.schema.model.impl.AbstractJsonSchemaElement;
 import es.elixir.bsc.json.schema.model.impl.JsonMultitypeSchemaWrapper;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Objects;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import javax.json.JsonString;
@@ -72,8 +79,22 @@ public class DefaultJsonSchemaParser implements JsonSubschemaParser {
     private final JsonSchemaElementsCache cache = new JsonSchemaElementsCache();
     private final Map<String, Object> properties;
     
+    /*
+     * Structurally identical location-independent subschemas (deduplication)
+     */
+    private final Map<SharedSchemaKey, AbstractJsonSchema> shared;
+    private final Map<JsonValue, Boolean> independent;
+    
     public DefaultJsonSchemaParser(Map<String, Object> properties) {
         this.properties = properties;
+        
+        if (Boolean.TRUE.equals(properties.get(JsonSchemaParserConfig.DEDUPLICATE_SUBSCHEMAS))) {
+            shared = new ConcurrentHashMap();
+            independent = Collections.synchronizedMap(new IdentityHashMap());
+        } else {
+            shared = null;
+            independent = null;
+        }
     }
 
     @Override
@@ -163,6 +184,18 @@ public class DefaultJsonSchemaParser implements JsonSubschemaParser {
             }
         }
 
+        final SharedSchemaKey key;
+        if (shared != null && !(parent instanceof JsonMultitypeSchemaWrapper) &&
+            isLocationIndependent(object)) {
+            key = new SharedSchemaKey(object, type, getJsonSchemaVersion(locator));
+            schema = shared.get(key);
+            if (schema != null) {
+                return schema;
+            }
+        } else {
+            key = null;
+        }
+
         if (type == null) {
             schema = new JsonMultitypeSchemaWrapper(parent, locator, jsonPointer, 
                     vtype == ValueType.ARRAY ? type_value.asJsonArray() : null);
@@ -172,12 +205,12 @@ public class DefaultJsonSchemaParser implements JsonSubschemaParser {
                 if (jenum.isEmpty()) {
                     throw new JsonSchemaException(new ParsingError(ParsingMessage.EMPTY_ENUM));
                 }
-                return new JsonEnumImpl(parent, locator, jsonPointer).read(this, object);
+                return share(key, new JsonEnumImpl(parent, locator, jsonPointer).read(this, object));
             }
 
             final JsonValue jconst = object.get(CONST);
             if (jconst != null) {
-                return new JsonConstImpl(parent, locator, jsonPointer).read(this, object);
+                return share(key, new JsonConstImpl(parent, locator, jsonPointer).read(this, object));
             }
 
             switch(type) {
@@ -196,7 +229,61 @@ public class DefaultJsonSchemaParser implements JsonSubschemaParser {
         if (sch == null) {
             sch = cache.put(schema.read(this, object));
         }
-        return sch;
+        return share(key, sch);
+    }
+    
+    private AbstractJsonSchema share(SharedSchemaKey key, AbstractJsonSchema schema) {
+        if (key != null && !schema.isDynamicScope()) {
+            shared.putIfAbsent(key, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Checks whether the Json (sub)schema may be shared among different locations.
+     * Such a subschema neither defines nor refers any identifiers, so its 
+     * semantics doesn't depend on the place where it is found.
+     * 
+     * @param value Json (sub)schema value
+     * 
+     * @return 'true' if the subschema is location-independent
+     */
+    private boolean isLocationIndependent(JsonValue value) {
+        switch(value.getValueType()) {
+            case OBJECT: break;
+            case ARRAY: for (JsonValue v : value.asJsonArray()) {
+                            if (!isLocationIndependent(v)) {
+                                return false;
+                            }
+                        }
+                        return true;
+            default: return true;
+        }
+        
+        Boolean result = independent.get(value);
+        if (result == null) {
+            result = true;
+            for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                switch(entry.getKey()) {
+                    case JsonSchema.ID:
+                    case "id":
+                    case JsonSchema.ANCHOR:
+                    case JsonSchema.DYNAMIC_ANCHOR:
+                    case JsonSchema.RECURSIVE_ANCHOR:
+                    case JsonSchema.DEFS:
+                    case JsonObjectSchema.DEFINITIONS:
+                    case JsonReference.REF:
+                    case JsonDynamicReference.DYNAMIC_REF:
+                    case JsonRecursiveReference.RECURSIVE_REF: result = false; break;
+                    default: result = isLocationIndependent(entry.getValue());
+                }
+                if (!result) {
+                    break;
+                }
+            }
+            independent.put(value, result);
+        }
+        return result;
     }
     
     @Override
@@ -221,4 +308,39 @@ public class DefaultJsonSchemaParser implements JsonSubschemaParser {
         
         return JsonSchemaVersion.SCHEMA_DRAFT_07; // default
     }
+    
+    /**
+     * The key for the shared subschemas.
+     * The hash code of the Json value is calculated only once.
+     */
+    private final static class SharedSchemaKey {
+        private final JsonValue value;
+        private final JsonType type;
+        private final JsonSchemaVersion version;
+        private final int hash;
+        
+        SharedSchemaKey(JsonValue value, JsonType type, JsonSchemaVersion version) {
+            this.value = value;
+            this.type = type;
+            this.version = version;
+            this.hash = Objects.hash(value, type, version);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof SharedSchemaKey other) {
+                return hash == other.hash && type == other.type &&
+                       version == other.version && value.equals(other.value);
+            }
+            return false;
+        }
+    }
 }
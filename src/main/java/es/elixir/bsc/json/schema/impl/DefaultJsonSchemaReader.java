@@ -27,9 +27,11 @@ package es.elixir.bsc.json.schema.impl;
 
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
 import es.elixir.bsc.json.schema.JsonSchemaReader;
 import es.elixir.bsc.json.schema.ParsingError;
 import es.elixir.bsc.json.schema.ParsingMessage;
+import es.elixir.bsc.json.schema.ValidationLimits;
 import es.elixir.bsc.json.schema.model.JsonSchema;
 import es.elixir.bsc.json.schema.model.impl.AbstractJsonSchema;
 import javax.json.JsonException;
@@ -90,6 +92,12 @@ public class DefaultJsonSchemaReader implements JsonSchemaReader {
                         new ParsingError(ParsingMessage.JSON_PARSING_ERROR, ex.getMessage()));
             }
             schema = new DefaultJsonSchemaParser(properties).parse(locator, obj);
+            schema.setValidationLimits(ValidationLimits.of(properties));
+            if (Boolean.TRUE.equals(properties.get(JsonSchemaParserConfig.COMPACT_AFTER_RESOLVE))) {
+                // traversing the schema tree resolves (parses) all the references
+                schema.getChildren().forEach(e -> {});
+                locator.compact();
+            }
             schemas.put(locator.uri, schema);
         }
         return schema;
@@ -30,9 +30,6 @@ import es.elixir.bsc.json.schema.ValidationError;
 import es.elixir.bsc.json.schema.ValidationException;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonStringSchema;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
-import java.util.regex.Pattern;
 
 /**
  * @author Dmitry Repchevsky
@@ -40,56 +37,50 @@ import java.util.regex.Pattern;
 
 public class DefaultJsonStringFormatValidator implements JsonStringFormatValidator {
     
-    private final static Pattern EMAIL_PATTERN = Pattern.compile("^(.+)@(.+)$");
-    private final static Pattern HOST_NAME_PATTERN = Pattern.compile("^(([a-zA-Z0-9]|[a-zA-Z0-9][a-zA-Z0-9\\-]*[a-zA-Z0-9])\\.)*([A-Za-z0-9]|[A-Za-z0-9][A-Za-z0-9\\-]*[A-Za-z0-9])$");
-    private final static Pattern IP4_PATTERN = Pattern.compile("^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$");
-    private final static Pattern IP6_PATTERN = Pattern.compile("^((?:[0-9A-Fa-f]{1,4}))((?::[0-9A-Fa-f]{1,4}))*::((?:[0-9A-Fa-f]{1,4}))((?::[0-9A-Fa-f]{1,4}))*|((?:[0-9A-Fa-f]{1,4}))((?::[0-9A-Fa-f]{1,4})){7}$");
-    
     public static void validate(String jsonPointer, JsonStringSchema schema,
             String value) throws ValidationException {
 
-        final String format = schema.getFormat();
+        final ValidationMessage message = check(schema.getFormat(), value);
+        if (message != null) {
+            throw new ValidationException(
+                    new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
+                    message, value));
+        }
+    }
+
+    /**
+     * Checks the string value against the format without throwing exceptions.
+     * 
+     * @param format the format name (e.g. "date-time")
+     * @param value the string value to check
+     * 
+     * @return the validation message for the invalid value or null if the value 
+     * is valid (or the format is not supported)
+     */
+    public static ValidationMessage check(String format, String value) {
         switch(format) {
-            case DATE_TIME: try { 
-                                ZonedDateTime.parse(value);
-                            } catch(DateTimeParseException ex) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_DATE_TIME_FORMAT_CONSTRAINT_MSG, value));
-                            }
-                            break;
-            case EMAIL:     if (!EMAIL_PATTERN.matcher(value).matches()) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_EMAIL_FORMAT_CONSTRAINT_MSG, value));
-                            }
-                            break;
-            case HOSTNAME:  if (!HOST_NAME_PATTERN.matcher(value).matches()) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_HOSTNAME_FORMAT_CONSTRAINT_MSG, value));
-                            }
-                            break;
-            case IP4:       if (!IP4_PATTERN.matcher(value).matches()) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_IP4_FORMAT_CONSTRAINT_MSG, value));
-                            }
-                            break;
-            case IP6:       if (!IP6_PATTERN.matcher(value).matches()) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_IP6_FORMAT_CONSTRAINT_MSG, value));
-                            }
-                            break;
+            case DATE_TIME: return StringFormats.isDateTime(value) ? null : 
+                                   ValidationMessage.STRING_DATE_TIME_FORMAT_CONSTRAINT_MSG;
+            case DATE:      return StringFormats.isDate(value) ? null : 
+                                   ValidationMessage.STRING_DATE_FORMAT_CONSTRAINT_MSG;
+            case TIME:      return StringFormats.isTime(value) ? null : 
+                                   ValidationMessage.STRING_TIME_FORMAT_CONSTRAINT_MSG;
+            case DURATION:  return StringFormats.isDuration(value) ? null : 
+                                   ValidationMessage.STRING_DURATION_FORMAT_CONSTRAINT_MSG;
+            case EMAIL:     return StringFormats.isEmail(value) ? null : 
+                                   ValidationMessage.STRING_EMAIL_FORMAT_CONSTRAINT_MSG;
+            case HOSTNAME:  return StringFormats.isHostname(value) ? null : 
+                                   ValidationMessage.STRING_HOSTNAME_FORMAT_CONSTRAINT_MSG;
+            case IP4:       return StringFormats.isIPv4(value) ? null : 
+                                   ValidationMessage.STRING_IP4_FORMAT_CONSTRAINT_MSG;
+            case IP6:       return StringFormats.isIPv6(value) ? null : 
+                                   ValidationMessage.STRING_IP6_FORMAT_CONSTRAINT_MSG;
             case URI:       try {
                                 java.net.URI.create(value);
                             } catch(IllegalArgumentException ex) {
-                                throw new ValidationException(
-                                        new ValidationError(schema.getId(), schema.getJsonPointer(), jsonPointer,
-                                        ValidationMessage.STRING_URI_FORMAT_CONSTRAINT_MSG, value)); 
+                                return ValidationMessage.STRING_URI_FORMAT_CONSTRAINT_MSG;
                             }
-                            break;
         }
+        return null;
     }
 }
@@ -31,13 +31,14 @@ import es.elixir.bsc.json.schema.model.impl.AbstractJsonSchema;
 import es.elixir.bsc.json.schema.model.impl.AbstractJsonSchemaElement;
 import es.elixir.bsc.json.schema.model.impl.JsonMultitypeSchemaWrapper;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 
 /**
  * Simple HashMap based elements storage implementation.
  * 
+ * Elements are keyed by the string form of their identifiers which is 
+ * built without creating (and parsing) URI objects.
  * The cache doesn't store JsonMultitypeSchemaWrapper's children because all 
  * they have the same $id as a 'wrapper' an thus cached together.
  * 
@@ -45,7 +46,7 @@ import java.util.Map;
  */
 
 public class JsonSchemaElementsCache {
-    private final Map<URI, AbstractJsonSchema> cache = new HashMap();
+    private final Map<String, AbstractJsonSchema> cache = new ConcurrentHashMap();
     
     /**
      * Get previously parsed JSON (sub)schema.
@@ -67,7 +68,8 @@ public class JsonSchemaElementsCache {
      * @return either found JSON schema or null if not found
      */
     public AbstractJsonSchema get(AbstractJsonSchema schema) {
-        return schema.getParent() instanceof JsonMultitypeSchemaWrapper ? null : cache.get(schema.getId());
+        return schema.getParent() instanceof JsonMultitypeSchemaWrapper ? null : 
+                cache.get(resolve(schema.locator.uri, schema.getJsonPointer()));
     }
     
     /**
@@ -80,12 +82,12 @@ public class JsonSchemaElementsCache {
     public AbstractJsonSchema put(AbstractJsonSchema schema) {
         if (!schema.isDynamicScope() &&
             !(schema.getParent() instanceof JsonMultitypeSchemaWrapper)) {
-            final URI id = schema.getId();
+            final String id = resolve(schema.locator.uri, schema.getJsonPointer());
             cache.put(id, schema);
             
             // syntheticId is a real document path which might differ 
             // from the contextual $id
-            final URI syntheticId = getSyntheticId(schema);
+            final String syntheticId = getSyntheticId(schema);
             if (!id.equals(syntheticId)) {
                 cache.put(syntheticId, schema);
             }
@@ -106,7 +108,7 @@ public class JsonSchemaElementsCache {
      * </pre>
      * @return synthetic identifier used to resolve external $refs.
      */
-    private URI getSyntheticId(AbstractJsonSchemaElement e) {
+    private String getSyntheticId(AbstractJsonSchemaElement e) {
         final StringBuilder sb = new StringBuilder(e.jsonPointer);
         while (e.getParent() != null && !(e.getParent() instanceof JsonReference)) {
             e = e.getParent();
@@ -125,15 +127,26 @@ public class JsonSchemaElementsCache {
      * @param uri schema identifier
      * @param jsonPointer JSON pointer to the schema element
      * 
-     * @return schema element identifier
+     * @return schema element identifier key (the same for the same {@code getId()})
      */
-    private URI resolve(URI uri, String jsonPointer) {
+    private String resolve(URI uri, String jsonPointer) {
+        final String scheme = uri.getScheme();
         final String fragment = uri.getFragment();
-        try {
-            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), 
-                    fragment == null && jsonPointer.length() > 1 ? jsonPointer : jsonPointer.length() > 1 
-                            ? fragment + jsonPointer : fragment);
-        } catch (URISyntaxException ex) {}
-        return null;
+        final String ssp = uri.getSchemeSpecificPart();
+
+        final StringBuilder sb = new StringBuilder(ssp.length() + jsonPointer.length() + 16);
+        if (scheme != null) {
+            sb.append(scheme).append(':');
+        }
+        sb.append(ssp);
+        if (fragment != null) {
+            sb.append('#').append(fragment);
+            if (jsonPointer.length() > 1) {
+                sb.append(jsonPointer);
+            }
+        } else if (jsonPointer.length() > 1) {
+            sb.append('#').append(jsonPointer);
+        }
+        return sb.toString();
     }
 }
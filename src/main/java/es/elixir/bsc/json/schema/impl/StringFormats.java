@@ -0,0 +1,400 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.impl;
+
+/**
+ * Hand-written scanners for the string formats. 
+ * Scanners neither allocate nor throw exceptions on invalid values.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class StringFormats {
+    
+    private final static String ATEXT = "!#$%&'*+-/=?^_`{|}~";
+
+    private StringFormats() {}
+
+    /**
+     * RFC 3339 'date-time' (full-date "T" full-time).
+     */
+    static boolean isDateTime(String value) {
+        final int n = value.length();
+        if (n < 20) {
+            return false;
+        }
+        final char t = value.charAt(10);
+        return (t == 'T' || t == 't') && isDate(value, 0) && isTime(value, 11, n);
+    }
+
+    /**
+     * RFC 3339 'full-date' (YYYY-MM-DD).
+     */
+    static boolean isDate(String value) {
+        return value.length() == 10 && isDate(value, 0);
+    }
+
+    /**
+     * RFC 3339 'full-time' (partial-time time-offset).
+     */
+    static boolean isTime(String value) {
+        return isTime(value, 0, value.length());
+    }
+
+    /**
+     * RFC 3339 (Appendix A) 'duration' (e.g. P1Y2M3DT4H5M6S or P2W).
+     */
+    static boolean isDuration(String value) {
+        final int n = value.length();
+        if (n < 3 || value.charAt(0) != 'P') {
+            return false;
+        }
+        final int w = digits(value, 1, n);
+        if (w > 1 && w == n - 1 && value.charAt(w) == 'W') {
+            return true;
+        }
+        final int i = units(value, 1, n, "YMD");
+        if (i < 0) {
+            return false;
+        }
+        if (i == n) {
+            return i > 1;
+        }
+        if (value.charAt(i) != 'T') {
+            return false;
+        }
+        final int j = units(value, i + 1, n, "HMS");
+        return j == n && j > i + 1;
+    }
+
+    /**
+     * RFC 2673 'dotted-quad' IPv4 address (no leading zeros).
+     */
+    static boolean isIPv4(String value) {
+        return isIPv4(value, 0, value.length());
+    }
+
+    /**
+     * RFC 4291 IPv6 address including the IPv4 tail form.
+     */
+    static boolean isIPv6(String value) {
+        return isIPv6(value, 0, value.length());
+    }
+
+    /**
+     * RFC 1123 host name.
+     */
+    static boolean isHostname(String value) {
+        return isHostname(value, 0, value.length());
+    }
+
+    /**
+     * RFC 5321 'Mailbox' (dot-atom or quoted local part and a domain or 
+     * an address literal).
+     */
+    static boolean isEmail(String value) {
+        final int at = value.lastIndexOf('@');
+        if (at <= 0 || at > 64) {
+            return false;
+        }
+
+        final int n = value.length();
+        if (at + 1 == n) {
+            return false;
+        }
+        if (value.charAt(at + 1) == '[') {
+            if (value.charAt(n - 1) != ']') {
+                return false;
+            }
+            if (value.startsWith("IPv6:", at + 2) ? !isIPv6(value, at + 7, n - 1) : 
+                                                   !isIPv4(value, at + 2, n - 1)) {
+                return false;
+            }
+        } else if (!isHostname(value, at + 1, n)) {
+            return false;
+        }
+
+        if (value.charAt(0) == '"') {
+            return isQuotedString(value, 0, at);
+        }
+
+        char prev = '.';
+        for (int i = 0; i < at; i++) {
+            final char ch = value.charAt(i);
+            if (ch == '.') {
+                if (prev == '.') {
+                    return false;
+                }
+            } else if (!alphanumeric(ch) && ATEXT.indexOf(ch) < 0) {
+                return false;
+            }
+            prev = ch;
+        }
+        return prev != '.';
+    }
+    
+    private static boolean isIPv6(String value, int i, int n) {
+        if (n - i < 2) {
+            return false;
+        }
+
+        int groups = 0;
+        boolean compressed = false;
+        if (value.charAt(i) == ':') {
+            if (value.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+
+        while (i < n) {
+            int j = i;
+            while (j < n && j - i < 5 && hex(value.charAt(j))) {
+                j++;
+            }
+            if (j < n && value.charAt(j) == '.') {
+                // the IPv4 tail takes two groups
+                if (!isIPv4(value, i, n)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            if (j == i || j - i > 4) {
+                return false;
+            }
+            groups++;
+            if (j == n) {
+                break;
+            }
+            if (value.charAt(j) != ':' || ++j == n) {
+                return false;
+            }
+            if (value.charAt(j) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                j++;
+            }
+            i = j;
+        }
+        
+        // '::' stands for at least one group
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    private static boolean isDate(String value, int i) {
+        if (value.charAt(i + 4) != '-' || value.charAt(i + 7) != '-') {
+            return false;
+        }
+        final int year = number(value, i, 4);
+        final int month = number(value, i + 5, 2);
+        final int day = number(value, i + 8, 2);
+
+        return year >= 0 && month >= 1 && month <= 12 && 
+               day >= 1 && day <= days(year, month);
+    }
+    
+    private static boolean isTime(String value, int i, int n) {
+        if (n - i < 9 || value.charAt(i + 2) != ':' || value.charAt(i + 5) != ':') {
+            return false;
+        }
+        final int hour = number(value, i, 2);
+        final int minute = number(value, i + 3, 2);
+        final int second = number(value, i + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || 
+            second < 0 || second > 60) {
+            return false;
+        }
+
+        i += 8;
+        if (value.charAt(i) == '.') {
+            final int j = digits(value, ++i, n);
+            if (j == i) {
+                return false;
+            }
+            i = j;
+        }
+        
+        if (i == n) {
+            return false;
+        }
+        
+        final int offset;
+        final char ch = value.charAt(i);
+        if (ch == 'Z' || ch == 'z') {
+            if (i + 1 != n) {
+                return false;
+            }
+            offset = 0;
+        } else if (ch == '+' || ch == '-') {
+            if (n - i != 6 || value.charAt(i + 3) != ':') {
+                return false;
+            }
+            final int h = number(value, i + 1, 2);
+            final int m = number(value, i + 4, 2);
+            if (h < 0 || h > 23 || m < 0 || m > 59) {
+                return false;
+            }
+            offset = ch == '+' ? h * 60 + m : -(h * 60 + m);
+        } else {
+            return false;
+        }
+        
+        // the leap second may only be inserted at the end of the UTC day
+        return second < 60 || Math.floorMod(hour * 60 + minute - offset, 1440) == 1439;
+    }
+
+    private static boolean isIPv4(String value, int i, int n) {
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) {
+                if (i == n || value.charAt(i++) != '.') {
+                    return false;
+                }
+            }
+            final int j = digits(value, i, n);
+            if (j == i || j - i > 3 || j - i > 1 && value.charAt(i) == '0' || 
+                number(value, i, j - i) > 255) {
+                return false;
+            }
+            i = j;
+        }
+        return i == n;
+    }
+
+    private static boolean isHostname(String value, int i, int n) {
+        if (i == n || n - i > 253) {
+            return false;
+        }
+        int label = i;
+        for (; i < n; i++) {
+            final char ch = value.charAt(i);
+            if (ch == '.') {
+                if (!isLabel(value, label, i)) {
+                    return false;
+                }
+                label = i + 1;
+            } else if (ch != '-' && !alphanumeric(ch)) {
+                return false;
+            }
+        }
+        return isLabel(value, label, n);
+    }
+    
+    private static boolean isLabel(String value, int i, int n) {
+        return n > i && n - i <= 63 && 
+               value.charAt(i) != '-' && value.charAt(n - 1) != '-';
+    }
+
+    private static boolean isQuotedString(String value, int i, int n) {
+        if (n - i < 2 || value.charAt(n - 1) != '"') {
+            return false;
+        }
+        for (i++, n--; i < n; i++) {
+            final char ch = value.charAt(i);
+            if (ch == '\\') {
+                if (++i == n || value.charAt(i) < ' ' || value.charAt(i) > '~') {
+                    return false;
+                }
+            } else if (ch == '"' || ch < ' ' || ch > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans the sequence of duration components ('1*DIGIT unit') which must 
+     * follow each other in the order of units without gaps.
+     * 
+     * @return the position after the last component or -1 if invalid
+     */
+    private static int units(String value, int i, int n, String units) {
+        int last = -1;
+        while (i < n) {
+            final int j = digits(value, i, n);
+            if (j == i) {
+                break;
+            }
+            if (j == n) {
+                return -1;
+            }
+            final int unit = units.indexOf(value.charAt(j));
+            if (unit < 0 || last >= 0 && unit != last + 1) {
+                return -1;
+            }
+            last = unit;
+            i = j + 1;
+        }
+        return i;
+    }
+
+    private static int days(int year, int month) {
+        switch(month) {
+            case 2: return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11: return 30;
+            default: return 31;
+        }
+    }
+    
+    /**
+     * @return the decimal value of 'length' ASCII digits or -1
+     */
+    private static int number(String value, int i, int length) {
+        int number = 0;
+        for (final int n = i + length; i < n; i++) {
+            final char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            number = number * 10 + (ch - '0');
+        }
+        return number;
+    }
+
+    /**
+     * @return the position after the ASCII digits that start at 'i'
+     */
+    private static int digits(String value, int i, int n) {
+        while (i < n && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean hex(char ch) {
+        return ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'f' || ch >= 'A' && ch <= 'F';
+    }
+
+    private static boolean alphanumeric(char ch) {
+        return ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z';
+    }
+}
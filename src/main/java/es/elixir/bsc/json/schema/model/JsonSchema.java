@@ -25,11 +25,20 @@
 
 package es.elixir.bsc.json.schema.model;
 
+import es.elixir.bsc.json.schema.BatchValidation;
 import es.elixir.bsc.json.schema.ValidationError;
 import es.elixir.bsc.json.schema.ValidationException;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import java.net.URI;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
 import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
 
 /**
  * @author Dmitry Repchevsky
@@ -51,4 +60,120 @@ public interface JsonSchema extends JsonSchemaElement {
     default boolean validate(JsonValue value, List<ValidationError> errors) {
         return validate(value, errors, null);
     }
+
+    /**
+     * Validates the Json value within the resource limits.
+     * When the limit is reached, the validation stops and the error with 
+     * the limit code is added to the errors.
+     * 
+     * @param value the Json value to validate
+     * @param errors the list to put validation errors into
+     * @param callback the validation callback or null
+     * @param limits the validation limits (null means no limits)
+     * 
+     * @return 'true' if the value is valid
+     * 
+     * @throws ValidationException 
+     */
+    boolean validate(JsonValue value, List<ValidationError> errors, 
+            JsonSchemaValidationCallback<JsonValue> callback, ValidationLimits limits) 
+            throws ValidationException;
+
+    /**
+     * Validates the next Json value read from the parser.
+     * The parser must be positioned before the value.
+     * 
+     * @param parser Json parser to read the value from
+     * @param errors the list to put validation errors into
+     * @param callback the validation callback or null
+     * 
+     * @return 'true' if the value is valid
+     * 
+     * @throws ValidationException 
+     */
+    default boolean validate(JsonParser parser, List<ValidationError> errors, 
+            JsonSchemaValidationCallback<JsonValue> callback) throws ValidationException {
+        parser.next();
+        return validate(parser.getValue(), errors, callback);
+    }
+
+    /**
+     * Finds the subschema (or this schema) by its identifier.
+     * The lookup takes constant time using the index built on the first call.
+     * 
+     * @param <T> any implementation specific class that implements JsonSchema
+     * @param id the identifier of the schema (as returned by {@code getId()})
+     * 
+     * @return found schema or null
+     */
+    <T extends JsonSchema> T getSubschema(URI id);
+
+    /**
+     * Finds the subschema (or this schema) by the Json Pointer.
+     * The lookup takes constant time using the index built on the first call.
+     * 
+     * @param <T> any implementation specific class that implements JsonSchema
+     * @param jsonPointer Json Pointer relative to the schema document ("/" for the root)
+     * 
+     * @return found schema or null
+     */
+    <T extends JsonSchema> T findSubschema(String jsonPointer);
+
+    /**
+     * Wraps the parser to validate the Json value while the application reads it.
+     * 
+     * @param parser Json parser to read the value from
+     * @param listener the consumer that receives validation errors as soon as 
+     * they are found. When null, the first error is thrown on parser's close().
+     * 
+     * @return the validating parser
+     */
+    JsonParser createValidatingParser(JsonParser parser, Consumer<ValidationError> listener);
+
+    /**
+     * Wraps the generator to validate the Json value while it is written.
+     * The generator throws the ValidationException on the first validation error.
+     * 
+     * @param generator Json generator to write the value to
+     * 
+     * @return the validating generator
+     */
+    JsonGenerator createValidatingGenerator(JsonGenerator generator);
+
+    /**
+     * Validates the documents concurrently (see {@link BatchValidation}).
+     * 
+     * @param values the documents to validate
+     * 
+     * @return validation outcomes in the documents order
+     */
+    default boolean[] validateAll(Collection<? extends JsonValue> values) {
+        return BatchValidation.validate(this, values.stream());
+    }
+
+    /**
+     * Validates the documents concurrently (see {@link BatchValidation}).
+     * 
+     * @param values the documents to validate
+     * 
+     * @return validation outcomes in the documents order
+     */
+    default boolean[] validateAll(Stream<? extends JsonValue> values) {
+        return BatchValidation.validate(this, values);
+    }
+
+    /**
+     * Validates the documents concurrently using provided executor.
+     * 
+     * @param values the documents to validate
+     * @param executor the executor to run validation tasks
+     * @param concurrency the maximum number of documents validated at once
+     *        (values less than 1 are treated as 1)
+     * 
+     * @return validation outcomes in the documents order
+     */
+    default boolean[] validateAll(Stream<? extends JsonValue> values, 
+            Executor executor, int concurrency) {
+        return BatchValidation.validate(this, values, executor, concurrency);
+    }
 }
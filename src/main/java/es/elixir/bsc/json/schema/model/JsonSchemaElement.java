@@ -56,10 +56,21 @@ public interface JsonSchemaElement {
     
     /**
      * Get the stream of all child schemas.
+     * Note that child schemas are copied (relinked to their parents), 
+     * use {@link #accept(JsonSchemaVisitor)} for the large schemas traversal.
      * 
      * @param <T>
      * 
      * @return stream of child schemas
      */
     <T extends JsonSchemaElement> Stream<T> getChildren();
+    
+    /**
+     * Traverse this element and all its descendants (including resolved
+     * references) in depth-first order without copying them.
+     * Every element (even when shared by several references) is visited once.
+     * 
+     * @param visitor the visitor to be called for every element
+     */
+    void accept(JsonSchemaVisitor visitor);
 }
@@ -0,0 +1,58 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import java.util.List;
+
+/**
+ * The visitor for the Json Schema elements tree traversal.
+ * 
+ * Unlike {@link JsonSchemaElement#getChildren()}, the traversal doesn't 
+ * create any element copies. Instead, the path to the visited element is
+ * provided as a context.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public interface JsonSchemaVisitor {
+    
+    /**
+     * Called when the element is entered.
+     * 
+     * @param element visited element
+     * @param path unmodifiable list of enclosing elements (the root goes first)
+     * 
+     * @return 'true' to visit children of the element, 'false' to skip them
+     */
+    boolean visit(JsonSchemaElement element, List<JsonSchemaElement> path);
+    
+    /**
+     * Called when all children of the element have been visited.
+     * 
+     * @param element visited element
+     * @param path unmodifiable list of enclosing elements (the root goes first)
+     */
+    default void leave(JsonSchemaElement element, List<JsonSchemaElement> path) {}
+}
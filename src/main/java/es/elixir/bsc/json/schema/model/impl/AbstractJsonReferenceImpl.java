@@ -54,6 +54,9 @@ public abstract class AbstractJsonReferenceImpl extends AbstractJsonSchema<JsonO
     protected String ref_pointer;
     protected JsonSchemaLocator ref_locator;
     protected JsonSubschemaParser parser;
+
+    // the resolved schema safely published to all validating threads
+    private volatile AbstractJsonSchema resolved;
     
     public AbstractJsonReferenceImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
@@ -99,11 +102,33 @@ public abstract class AbstractJsonReferenceImpl extends AbstractJsonSchema<JsonO
             JsonSchemaValidationCallback<JsonValue> callback) throws ValidationException {
 
         try {
-            final AbstractJsonSchema sch = getSchema();
+            final AbstractJsonSchema sch = resolve();
             return sch.validate(jsonPointer, value, parent, evaluated, errors, callback);
         } catch (JsonSchemaException ex) {
             errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer, ex.getMessage()));
         }
         return false;
     }
+
+    /**
+     * Resolves the referenced schema.
+     * The resolution of the reference is done only once (under the reference lock),
+     * while already resolved schemas are returned without locking.
+     * 
+     * @return the referenced schema
+     * 
+     * @throws JsonSchemaException 
+     */
+    final AbstractJsonSchema resolve() throws JsonSchemaException {
+        AbstractJsonSchema sch = resolved;
+        if (sch == null) {
+            synchronized(this) {
+                sch = resolved;
+                if (sch == null) {
+                    resolved = sch = getSchema();
+                }
+            }
+        }
+        return sch;
+    }
 }
@@ -30,11 +30,18 @@ import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
 import es.elixir.bsc.json.schema.ValidationError;
 import es.elixir.bsc.json.schema.ValidationException;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
 import es.elixir.bsc.json.schema.model.JsonSchema;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
 
 /**
  * This class is used internally and exists only for the purpose to hide
@@ -48,6 +55,17 @@ import javax.json.JsonValue;
 public abstract class AbstractJsonSchema<T extends JsonValue> 
         extends AbstractJsonSchemaElement implements JsonSchema {
     
+    /**
+     * The bitmask of all Json value types.
+     */
+    final static int ANY_TYPE = (1 << JsonValue.ValueType.values().length) - 1;
+
+    // default validation limits (see JsonSchemaParserConfig)
+    private ValidationLimits limits;
+    
+    // the subschemas index (built on the first lookup)
+    private volatile JsonSchemaIndex index;
+
     public AbstractJsonSchema(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
         super(parent, locator, jsonPointer);
@@ -63,10 +81,163 @@ public abstract class AbstractJsonSchema<T extends JsonValue>
             JsonSchemaValidationCallback<JsonValue> callback) 
             throws ValidationException;
 
+    /**
+     * Gets Json value types this schema may accept. 
+     * Values of other types are invalid, so the schema may be skipped when
+     * only the validity matters.
+     * 
+     * @return the bitmask of accepted types (see {@link #type(JsonValue.ValueType)})
+     */
+    int types() {
+        return ANY_TYPE;
+    }
+
+    /**
+     * @param type Json value type
+     * 
+     * @return the bitmask of the type
+     */
+    static int type(JsonValue.ValueType type) {
+        return 1 << type.ordinal();
+    }
+
+    /**
+     * Checks whether the value is valid against this schema.
+     * Without the callback the evaluation stops at the first failure and
+     * builds no validation errors (see {@link ProbeValidation}).
+     * 
+     * @param jsonPointer Json pointer to the value
+     * @param value the Json value to check
+     * @param parent the parent of the value
+     * @param evaluated the list of evaluated properties (or items)
+     * @param errors the list of errors of the current evaluation (only used for limits)
+     * @param callback the validation callback or null
+     * 
+     * @return 'true' if the value is valid
+     */
+    boolean probe(String jsonPointer, JsonValue value, JsonValue parent, 
+            List evaluated, List<ValidationError> errors, 
+            JsonSchemaValidationCallback<JsonValue> callback) {
+        if (callback != null) {
+            // the callback observes the complete evaluation
+            return validate(jsonPointer, value, parent, evaluated, 
+                    ValidationErrorSink.counter(errors), callback);
+        }
+        try {
+            return validate(jsonPointer, value, parent, evaluated, 
+                    ProbeValidation.probe(errors), null);
+        } catch (ProbeValidation.Failure ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reports the validation error of this schema.
+     * No error is created in the probe evaluation which just stops.
+     * 
+     * @param errors the list to put the error into
+     * @param jsonPointer Json pointer to the invalid value
+     * @param message the validation message
+     * @param args the validation message arguments
+     */
+    protected void addError(List<ValidationError> errors, String jsonPointer, 
+            ValidationMessage message, Object... args) {
+        if (ProbeValidation.isProbe(errors)) {
+            throw ProbeValidation.FAILURE;
+        }
+        errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer, message, args));
+    }
+
+    /**
+     * Sets the limits applied when validation methods are called without limits.
+     * 
+     * @param limits the validation limits or null
+     */
+    public void setValidationLimits(ValidationLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * @return the limits applied when validation methods are called without limits
+     */
+    public ValidationLimits getValidationLimits() {
+        return limits;
+    }
+
+    @Override
+    public boolean validate(JsonValue value, List<ValidationError> errors, 
+            JsonSchemaValidationCallback<JsonValue> callback) 
+            throws ValidationException {
+        return validate(value, errors, callback, limits);
+    }
+
     @Override
     public boolean validate(JsonValue value, List<ValidationError> errors, 
+            JsonSchemaValidationCallback<JsonValue> callback, ValidationLimits limits) 
+            throws ValidationException {
+        if (limits == null || limits.isUnlimited()) {
+            return validate("/", value, null, new ArrayList(), errors, callback);
+        }
+        try {
+            return validate("/", value, null, new ArrayList(), 
+                    new LimitedValidation(errors, limits), callback);
+        } catch (LimitedValidation.Exceeded ex) {
+            return exceeded(ex, errors);
+        }
+    }
+
+    /**
+     * Validates the Json value while reading the parser events, so objects and 
+     * arrays are not (when possible) materialized in memory.
+     */
+    @Override
+    public boolean validate(JsonParser parser, List<ValidationError> errors, 
             JsonSchemaValidationCallback<JsonValue> callback) 
             throws ValidationException {
-        return validate("/", value, null, new ArrayList(), errors, callback);
+        final JsonSchemaStreamValidator validator = new JsonSchemaStreamValidator(this, 
+                limits == null ? errors : new LimitedValidation(errors, limits), callback);
+        try {
+            do {
+                validator.event(parser.next(), parser);
+            } while (!validator.isDone());
+        } catch (LimitedValidation.Exceeded ex) {
+            return exceeded(ex, errors);
+        }
+        
+        return validator.isValid();
+    }
+
+    boolean exceeded(LimitedValidation.Exceeded ex, List<ValidationError> errors) {
+        errors.add(new ValidationError(getId(), getJsonPointer(), ex.pointer, ex.limit, ex.args));
+        return false;
+    }
+
+    @Override
+    public <T extends JsonSchema> T getSubschema(URI id) {
+        return index().get(id);
+    }
+
+    @Override
+    public <T extends JsonSchema> T findSubschema(String jsonPointer) {
+        return index().find(jsonPointer);
+    }
+
+    private JsonSchemaIndex index() {
+        JsonSchemaIndex idx = index;
+        if (idx == null) {
+            index = idx = new JsonSchemaIndex(this);
+        }
+        return idx;
+    }
+
+    @Override
+    public JsonParser createValidatingParser(JsonParser parser, 
+            Consumer<ValidationError> listener) {
+        return new ValidatingJsonParser(this, parser, listener);
+    }
+
+    @Override
+    public JsonGenerator createValidatingGenerator(JsonGenerator generator) {
+        return new ValidatingJsonGenerator(this, generator);
     }
 }
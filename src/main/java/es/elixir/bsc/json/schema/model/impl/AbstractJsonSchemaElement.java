@@ -27,8 +27,15 @@ package es.elixir.bsc.json.schema.model.impl;
 
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.model.JsonSchemaElement;
+import es.elixir.bsc.json.schema.model.JsonSchemaVisitor;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * This is an root class that any JSON Schema element inherits from.
@@ -48,6 +55,9 @@ public abstract class AbstractJsonSchemaElement
     
     private boolean isDynamicScope;
     
+    // lazily calculated (cached) identifier
+    private URI id;
+    
     /**
      * Constructor of the object.
      * It only sets an essential properties to identify and locate the element in
@@ -62,19 +72,24 @@ public abstract class AbstractJsonSchemaElement
 
         this.parent = parent;
         this.locator = locator;
-        this.jsonPointer = jsonPointer;
+        
+        // the same pointers (i.e. '/properties/id') are found in many schemas
+        this.jsonPointer = jsonPointer == null ? null : jsonPointer.intern();
     }
 
     @Override
     public final URI getId() {
-        final String pointer = getJsonPointer();
-        final String fragment = locator.uri.getFragment();
-        try {
-            return new URI(locator.uri.getScheme(), locator.uri.getSchemeSpecificPart(), 
-                    fragment == null && pointer.length() > 1 ? pointer : pointer.length() > 1 
-                            ? fragment + pointer : fragment);
-        } catch (URISyntaxException ex) {}
-        return null;
+        URI uri = id;
+        if (uri == null) {
+            final String pointer = getJsonPointer();
+            final String fragment = locator.uri.getFragment();
+            try {
+                id = uri = new URI(locator.uri.getScheme(), locator.uri.getSchemeSpecificPart(), 
+                        fragment == null && pointer.length() > 1 ? pointer : pointer.length() > 1 
+                                ? fragment + pointer : fragment);
+            } catch (URISyntaxException ex) {}
+        }
+        return uri;
     }
 
     @Override
@@ -89,6 +104,42 @@ public abstract class AbstractJsonSchemaElement
     public AbstractJsonSchemaElement getParent() {
         return parent;
     }
+
+    @Override
+    public void accept(JsonSchemaVisitor visitor) {
+        final List<JsonSchemaElement> path = new ArrayList();
+        walk(visitor, path, Collections.unmodifiableList(path), 
+                Collections.newSetFromMap(new IdentityHashMap()));
+    }
+
+    private void walk(JsonSchemaVisitor visitor, List<JsonSchemaElement> path, 
+            List<JsonSchemaElement> view, Set<AbstractJsonSchemaElement> visited) {
+        // shared (i.e. referenced) elements are visited once
+        if (visited.add(this) && visitor.visit(this, view)) {
+            path.add(this);
+            walked().forEachOrdered(e -> e.walk(visitor, path, view, visited));
+            path.remove(path.size() - 1);
+            visitor.leave(this, view);
+        }
+    }
+
+    /**
+     * Immediate children of this element visited by the {@link #accept(JsonSchemaVisitor)}.
+     * 
+     * @return stream of the child elements to visit
+     */
+    Stream<AbstractJsonSchemaElement> walked() {
+        return elements();
+    }
+
+    /**
+     * Immediate children of this element as they are (no cloning).
+     * 
+     * @return stream of the immediate child elements
+     */
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return Stream.empty();
+    }
     
     /**
      * This is a marker whether this element is in the dynamic scope and 
@@ -122,6 +173,7 @@ public abstract class AbstractJsonSchemaElement
             try {
                 AbstractJsonSchemaElement e = (AbstractJsonSchemaElement)this.clone();
                 e.parent = parent;
+                e.id = null; // identifier depends on the parent
                 return e;
             } catch (CloneNotSupportedException ex) {
                 return null;
@@ -75,14 +75,19 @@ public class BooleanJsonSchemaImpl extends AbstractJsonSchema<JsonValue>
         return this;
     }
     
+    @Override
+    int types() {
+        return evaluation ? ANY_TYPE : 0;
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors, JsonSchemaValidationCallback<JsonValue> callback) 
             throws ValidationException {
         
         if (!evaluation) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.UNEVALUATED_BOOLEAN_SCHEMA_MSG));
+            addError(errors, jsonPointer,
+                    ValidationMessage.UNEVALUATED_BOOLEAN_SCHEMA_MSG);
         }
         return evaluation;
     }
@@ -0,0 +1,139 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-branch evaluation statistics used to reorder subschemas of the 'anyOf' 
+ * and 'allOf' so that the branches which most likely decide the result 
+ * (the first valid for 'anyOf' or the first invalid for 'allOf') are 
+ * evaluated first.
+ * 
+ * Counters are striped (LongAdder) and the order is recalculated from time 
+ * to time by a randomly chosen evaluation, so concurrent validations never wait
+ * on each other. The order is only used where evaluation may stop early, 
+ * so it never changes reported errors.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class BranchStatistics {
+    
+    // approximate number of evaluations between reorderings (power of 2)
+    private final static int REORDER_PERIOD = 1024;
+    
+    private final AbstractJsonSchema[] schemas;
+    private final boolean valid;
+
+    private final LongAdder[] decided;
+    private final LongAdder[] nanos;
+    
+    private volatile int[] order;
+
+    /**
+     * @param schemas the subschemas in their original order
+     * @param valid 'true' when the branch decides the result being valid ('anyOf'),
+     *              'false' when being invalid ('allOf')
+     */
+    BranchStatistics(AbstractJsonSchema[] schemas, boolean valid) {
+        this.schemas = schemas;
+        this.valid = valid;
+        
+        decided = new LongAdder[schemas.length];
+        nanos = new LongAdder[schemas.length];
+        
+        final int[] o = new int[schemas.length];
+        for (int i = 0; i < schemas.length; i++) {
+            decided[i] = new LongAdder();
+            nanos[i] = new LongAdder();
+            o[i] = i;
+        }
+        order = o;
+    }
+
+    /**
+     * Checks whether the adaptive ordering is enabled in the parser configuration.
+     * 
+     * @param parser the parser used to parse the schema
+     * 
+     * @return 'true' if adaptive branch ordering is enabled
+     */
+    static boolean enabled(JsonSubschemaParser parser) {
+        return Boolean.TRUE.equals(parser.getJsonSchemaParserProperties()
+                .get(JsonSchemaParserConfig.ADAPTIVE_BRANCH_ORDER));
+    }
+
+    /**
+     * @return the current evaluation order of the branches
+     */
+    int[] order() {
+        return order;
+    }
+    
+    AbstractJsonSchema schema(int branch) {
+        return schemas[branch];
+    }
+
+    /**
+     * Records the branch evaluation result.
+     * 
+     * @param branch the index of the branch (in the original order)
+     * @param result the evaluation result
+     * @param time the evaluation time in nanoseconds
+     */
+    void record(int branch, boolean result, long time) {
+        if (result == valid) {
+            decided[branch].increment();
+        }
+        nanos[branch].add(time);
+        
+        if ((ThreadLocalRandom.current().nextInt() & (REORDER_PERIOD - 1)) == 0) {
+            reorder();
+        }
+    }
+
+    /**
+     * Recalculates the order so that branches with the highest number of 
+     * decisions per evaluation time come first.
+     * Branches never evaluated come first, so they finally get evaluated.
+     */
+    void reorder() {
+        final double[] scores = new double[schemas.length];
+        for (int i = 0; i < schemas.length; i++) {
+            scores[i] = (decided[i].sum() + 1.0) / (nanos[i].sum() + 1.0);
+        }
+        
+        order = Arrays.stream(order).boxed()
+                .sorted(Comparator.comparingDouble(i -> -scores[i]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+}
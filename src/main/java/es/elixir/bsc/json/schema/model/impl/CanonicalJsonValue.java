@@ -0,0 +1,167 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * The Json value wrapper which hash code and equality follow the Json Schema
+ * equality: numbers are compared by their exact numeric values (1 == 1.0), arrays
+ * item by item and objects property by property regardless the properties order.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class CanonicalJsonValue {
+
+    private final JsonValue value;
+    private final int hash;
+
+    CanonicalJsonValue(JsonValue value) {
+        this.value = value;
+        this.hash = hash(value);
+    }
+
+    JsonValue getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CanonicalJsonValue other && 
+               hash == other.hash && equals(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+
+    /**
+     * Calculates the hash code of the Json value consistent with the 
+     * {@link #equals(JsonValue, JsonValue)}.
+     * The hash code of Json string is the hash code of the string itself.
+     * 
+     * @param value the Json value
+     * 
+     * @return canonical hash code of the value
+     */
+    static int hash(JsonValue value) {
+        switch(value.getValueType()) {
+            case STRING: return ((JsonString)value).getString().hashCode();
+            case NUMBER: return number((JsonNumber)value).hashCode();
+            case ARRAY:  int h = 1;
+                         for (JsonValue v : (JsonArray)value) {
+                             h = 31 * h + hash(v);
+                         }
+                         return h;
+            case OBJECT: int o = 0x0b;
+                         for (Map.Entry<String, JsonValue> e : ((JsonObject)value).entrySet()) {
+                             o += e.getKey().hashCode() ^ hash(e.getValue());
+                         }
+                         return o;
+            default:     return value.getValueType().hashCode();
+        }
+    }
+
+    /**
+     * Gets the exact canonical form of the Json number, so numerically equal 
+     * numbers (1, 1.0, 1e0) have equal forms and distinct numbers never do.
+     * 
+     * @param number the Json number
+     * 
+     * @return either the Long (for integral values that fit in 18 digits) 
+     *         or the BigDecimal without trailing zeros
+     */
+    static Object number(JsonNumber number) {
+        final BigDecimal dec = number.bigDecimalValue();
+        if (dec.scale() == 0 && dec.precision() <= 18) {
+            return dec.longValue();
+        }
+        final BigDecimal stripped = dec.stripTrailingZeros();
+        return stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 18 ?
+                (Object)stripped.longValue() : stripped;
+    }
+
+    /**
+     * Compares two Json values for Json Schema equality.
+     * 
+     * @param v1 the first Json value
+     * @param v2 the second Json value
+     * 
+     * @return 'true' if values are equal
+     */
+    static boolean equals(JsonValue v1, JsonValue v2) {
+        if (v1 == v2) {
+            return true;
+        }
+        if (v1.getValueType() != v2.getValueType()) {
+            return false;
+        }
+
+        switch(v1.getValueType()) {
+            case STRING: return ((JsonString)v1).getString().equals(((JsonString)v2).getString());
+            case NUMBER: return ((JsonNumber)v1).bigDecimalValue().compareTo(
+                                    ((JsonNumber)v2).bigDecimalValue()) == 0;
+            case ARRAY:  final List<JsonValue> a1 = v1.asJsonArray();
+                         final List<JsonValue> a2 = v2.asJsonArray();
+                         if (a1.size() != a2.size()) {
+                             return false;
+                         }
+                         for (int i = 0, n = a1.size(); i < n; i++) {
+                             if (!equals(a1.get(i), a2.get(i))) {
+                                 return false;
+                             }
+                         }
+                         return true;
+            case OBJECT: final JsonObject o1 = v1.asJsonObject();
+                         final JsonObject o2 = v2.asJsonObject();
+                         if (o1.size() != o2.size()) {
+                             return false;
+                         }
+                         for (Map.Entry<String, JsonValue> e : o1.entrySet()) {
+                             final JsonValue v = o2.get(e.getKey());
+                             if (v == null || !equals(e.getValue(), v)) {
+                                 return false;
+                             }
+                         }
+                         return true;
+        }
+        return true; // true, false, null
+    }
+}
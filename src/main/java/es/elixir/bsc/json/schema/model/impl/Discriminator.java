@@ -0,0 +1,247 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.model.JsonReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+
+/**
+ * The index of 'oneOf' / 'anyOf' subschemas by the value of a discriminating
+ * property.
+ * 
+ * The subschema is indexed when it is a plain Json object schema that both 
+ * requires the property and restricts it by string 'const' or 'enum' values.
+ * Any object valid against such subschema has one of these values, so for 
+ * the object the other values' subschemas may be skipped.
+ * Subschemas that can't be proved this way (i.e. use references) are always 
+ * evaluated.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class Discriminator {
+    
+    // the minimal number of indexed subschemas to use the index
+    private final static int MIN_INDEXED_SCHEMAS = 2;
+
+    private final static String PROPERTIES = "properties";
+    private final static String REQUIRED = "required";
+    private final static String CONST = "const";
+    private final static String ENUM = "enum";
+    
+    private final static Set<String> REFERENCES = Set.of(JsonReference.REF, 
+            "$recursiveRef", "$dynamicRef");
+
+    /**
+     * The name of the discriminating property.
+     */
+    final String property;
+
+    // subschemas to evaluate for the discriminator value (including not indexed)
+    private final Map<String, List<AbstractJsonSchema>> index;
+    
+    // subschemas to evaluate for an unknown (or missed) discriminator value
+    private final List<AbstractJsonSchema> rest;
+
+    private Discriminator(String property, Map<String, List<AbstractJsonSchema>> index,
+            List<AbstractJsonSchema> rest) {
+        this.property = property;
+        this.index = index;
+        this.rest = rest;
+    }
+
+    /**
+     * Looks for the discriminating property of the schema array.
+     * 
+     * @param array the Json schema array
+     * @param schemas parsed schemas in the order of the schema array
+     * @param order parsed schemas in the order of evaluation
+     * 
+     * @return the discriminator or null if no property found
+     */
+    static Discriminator of(JsonArray array, List<AbstractJsonSchema> schemas, 
+            Iterable<AbstractJsonSchema> order) {
+        final List<Map<String, Set<String>>> branches = new ArrayList<>(array.size());
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (JsonValue value : array) {
+            final Map<String, Set<String>> values = values(value);
+            values.keySet().forEach(name -> counts.merge(name, 1, Integer::sum));
+            branches.add(values);
+        }
+
+        String property = null;
+        int max = MIN_INDEXED_SCHEMAS - 1;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > max) {
+                property = entry.getKey();
+                max = entry.getValue();
+            }
+        }
+        if (property == null) {
+            return null;
+        }
+
+        // the same (deduplicated) schema may be found several times
+        final Map<AbstractJsonSchema, Set<String>> indexed = new IdentityHashMap<>();
+        final Set<AbstractJsonSchema> rest = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0, n = schemas.size(); i < n; i++) {
+            final AbstractJsonSchema schema = schemas.get(i);
+            final Set<String> values = branches.get(i).get(property);
+            if (values == null) {
+                rest.add(schema);
+            } else {
+                indexed.computeIfAbsent(schema, s -> new LinkedHashSet<>()).addAll(values);
+            }
+        }
+        indexed.keySet().removeAll(rest);
+        if (indexed.size() < MIN_INDEXED_SCHEMAS) {
+            return null;
+        }
+
+        // keep the evaluation order of the schema array
+        final Map<String, List<AbstractJsonSchema>> index = new HashMap<>();
+        indexed.values().forEach(values -> values.forEach(v -> index.put(v, new ArrayList<>())));
+        final List<AbstractJsonSchema> others = new ArrayList<>();
+        for (AbstractJsonSchema schema : order) {
+            final Set<String> values = indexed.get(schema);
+            if (values != null) {
+                values.forEach(v -> index.get(v).add(schema));
+            } else if (rest.contains(schema)) {
+                others.add(schema);
+                index.values().forEach(list -> list.add(schema));
+            }
+        }
+        
+        return new Discriminator(property, index, others);
+    }
+
+    /**
+     * Gets subschemas that may be valid for the Json value.
+     * 
+     * @param value the Json value
+     * 
+     * @return subschemas to evaluate or null if all subschemas must be evaluated
+     */
+    List<AbstractJsonSchema> candidates(JsonValue value) {
+        if (value.getValueType() != ValueType.OBJECT) {
+            return null; // 'required' and 'properties' only apply to objects
+        }
+        final JsonValue discriminator = value.asJsonObject().get(property);
+        if (discriminator != null && discriminator.getValueType() == ValueType.STRING) {
+            final List<AbstractJsonSchema> candidates = 
+                    index.get(((JsonString)discriminator).getString());
+            if (candidates != null) {
+                return candidates;
+            }
+        }
+        return rest;
+    }
+
+    /**
+     * Collects string values allowed for required properties of the Json schema.
+     * 
+     * @param value the Json schema
+     * 
+     * @return the map of required property names to their allowed values
+     */
+    private static Map<String, Set<String>> values(JsonValue value) {
+        if (value.getValueType() != ValueType.OBJECT) {
+            return Collections.emptyMap();
+        }
+        final JsonObject schema = value.asJsonObject();
+        final JsonValue required = schema.get(REQUIRED);
+        final JsonValue properties = schema.get(PROPERTIES);
+        if (isReference(schema) ||
+            required == null || required.getValueType() != ValueType.ARRAY ||
+            properties == null || properties.getValueType() != ValueType.OBJECT) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Set<String>> values = new HashMap<>();
+        for (JsonValue name : required.asJsonArray()) {
+            if (name.getValueType() == ValueType.STRING) {
+                final String property = ((JsonString)name).getString();
+                final Set<String> set = strings(properties.asJsonObject().get(property));
+                if (set != null) {
+                    values.put(property, set);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param value the property Json schema
+     * 
+     * @return the set of allowed string values or null if values are not restricted to strings
+     */
+    private static Set<String> strings(JsonValue value) {
+        if (value == null || value.getValueType() != ValueType.OBJECT || 
+            isReference(value.asJsonObject())) {
+            return null;
+        }
+        final JsonObject property = value.asJsonObject();
+        final JsonValue jconst = property.get(CONST);
+        if (jconst != null) {
+            return jconst.getValueType() == ValueType.STRING ? 
+                    Set.of(((JsonString)jconst).getString()) : null;
+        }
+        final JsonValue jenum = property.get(ENUM);
+        if (jenum == null || jenum.getValueType() != ValueType.ARRAY) {
+            return null;
+        }
+        final Set<String> set = new LinkedHashSet<>();
+        for (JsonValue v : jenum.asJsonArray()) {
+            if (v.getValueType() != ValueType.STRING) {
+                return null;
+            }
+            set.add(((JsonString)v).getString());
+        }
+        return set;
+    }
+
+    private static boolean isReference(JsonObject schema) {
+        for (String ref : REFERENCES) {
+            if (schema.containsKey(ref)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -27,7 +27,7 @@ package es.elixir.bsc.json.schema.model.impl;
 
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
-import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonAllOf;
 import java.util.List;
@@ -44,6 +44,9 @@ import javax.json.JsonArray;
 public class JsonAllOfImpl extends SchemaArrayImpl<JsonValue>
         implements JsonAllOf<AbstractJsonSchema> {
 
+    // branch statistics for the adaptive evaluation order (if enabled)
+    private BranchStatistics statistics;
+
     public JsonAllOfImpl(AbstractJsonSchema parent, 
             JsonSchemaLocator locator, String jsonPointer) {
         super(parent, locator, jsonPointer);
@@ -54,6 +57,13 @@ public class JsonAllOfImpl extends SchemaArrayImpl<JsonValue>
             throws JsonSchemaException {
 
         super.read(parser, schema);
+
+        if (BranchStatistics.enabled(parser)) {
+            final List<AbstractJsonSchema> schemas = new ArrayList();
+            forEach(schemas::add);
+            statistics = new BranchStatistics(
+                    schemas.toArray(AbstractJsonSchema[]::new), false);
+        }
         return this;
     }
 
@@ -61,25 +71,53 @@ public class JsonAllOfImpl extends SchemaArrayImpl<JsonValue>
     public boolean validate(String jsonPointer, JsonValue object, JsonValue parent, 
             List evaluated, List errors, JsonSchemaValidationCallback callback) {
 
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
         final List eva = new ArrayList();
-        for (AbstractJsonSchema schema : this) {
-            final List e = new ArrayList(evaluated);
-            if (schema.validate(jsonPointer, object, parent, e, errors, callback)) {
-                e.removeAll(eva);
-                eva.addAll(e);
+        if (statistics != null && callback == null && ProbeValidation.isProbe(errors)) {
+            // the probe stops at the first invalid subschema
+            probe(jsonPointer, object, parent, evaluated, eva, errors);
+        } else {
+            for (AbstractJsonSchema schema : this) {
+                final List e = new ArrayList(evaluated);
+                if (schema.validate(jsonPointer, object, parent, e, errors, callback)) {
+                    e.removeAll(eva);
+                    eva.addAll(e);
+                }
             }
         }
         
-        if (nerrors == errors.size()) {
+        if (nerrors == ValidationErrorSink.count(errors)) {
             eva.removeAll(evaluated);
             evaluated.addAll(eva);
         } else {
-            errors.add(new ValidationError(getId(), getJsonPointer(),
-                    jsonPointer, ValidationMessage.OBJECT_ALL_OF_CONSTRAINT_MSG));
+            addError(errors, jsonPointer, ValidationMessage.OBJECT_ALL_OF_CONSTRAINT_MSG);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
+    }
+
+    /**
+     * Evaluates subschemas in the adaptive order.
+     * The first invalid subschema stops the evaluation with the probe failure.
+     */
+    private void probe(String jsonPointer, JsonValue object, JsonValue parent,
+            List evaluated, List eva, List errors) {
+
+        for (int branch : statistics.order()) {
+            final AbstractJsonSchema schema = statistics.schema(branch);
+            final List e = new ArrayList(evaluated);
+            final long time = System.nanoTime();
+            boolean valid = false;
+            try {
+                valid = schema.validate(jsonPointer, object, parent, e, errors, null);
+            } finally {
+                statistics.record(branch, valid, System.nanoTime() - time);
+            }
+            if (valid) {
+                e.removeAll(eva);
+                eva.addAll(e);
+            }
+        }
     }
 }
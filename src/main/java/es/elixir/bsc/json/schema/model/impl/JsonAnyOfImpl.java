@@ -27,7 +27,9 @@ package es.elixir.bsc.json.schema.model.impl;
 
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
+import es.elixir.bsc.json.schema.JsonSchemaVersion;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonAnyOf;
 import java.util.ArrayList;
@@ -35,6 +37,7 @@ import java.util.List;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
 import es.elixir.bsc.json.schema.ValidationException;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
+import javax.json.JsonArray;
 import javax.json.JsonValue;
 
 /**
@@ -45,6 +48,15 @@ import javax.json.JsonValue;
 
 public class JsonAnyOfImpl<T extends JsonValue> extends SchemaArrayImpl<T>
                            implements JsonAnyOf<AbstractJsonSchema> {
+
+    // the index of subschemas by the discriminating property (if found)
+    private Discriminator discriminator;
+
+    // branch statistics for the adaptive evaluation order (if enabled)
+    private BranchStatistics statistics;
+    
+    // whether evaluated properties (items) may be used by 'unevaluated' keywords
+    private boolean annotations;
     
     public JsonAnyOfImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
@@ -56,25 +68,54 @@ public class JsonAnyOfImpl<T extends JsonValue> extends SchemaArrayImpl<T>
             throws JsonSchemaException {
 
         super.read(parser, value);
+
+        if (BranchStatistics.enabled(parser)) {
+            final List<AbstractJsonSchema> schemas = new ArrayList();
+            forEach(schemas::add);
+            statistics = new BranchStatistics(
+                    schemas.toArray(AbstractJsonSchema[]::new), true);
+            annotations = JsonSchemaVersion.SCHEMA_DRAFT_2019_09.compareTo(
+                    parser.getJsonSchemaVersion(locator)) <= 0;
+        }
         return this;
     }
 
+    @Override
+    protected void index(JsonArray array, List<AbstractJsonSchema> schemas) {
+        discriminator = Discriminator.of(array, schemas, this);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List errors, JsonSchemaValidationCallback callback) 
             throws ValidationException {
         
-        final List<ValidationError> err = new ArrayList<>();
+        // without the callback schemas are probed and errors are only collected 
+        // when no schema matches
+        List<ValidationError> err = callback == null ? null : ValidationErrorSink.fork(errors);
+
+        // only subschemas that may match the discriminator value are probed
+        final List<AbstractJsonSchema> candidates = err != null || discriminator == null 
+                ? null : discriminator.candidates(value);
         final List eva = new ArrayList();
         
-        // have to evaluate all schemas to collect evaluated properties
+        // subschemas that don't accept the value type are not probed
+        final int type = type(value.getValueType());
+
         boolean match = false;
-        for (AbstractJsonSchema schema : this) {
-            final List e = new ArrayList(evaluated);
-            if (schema.validate(jsonPointer, value, parent, e, err, callback)) {
-                e.removeAll(eva);
-                eva.addAll(e);
-                match = true; // found the schema that matches
+        if (err == null && candidates == null && statistics != null) {
+            match = probe(jsonPointer, value, parent, evaluated, eva, errors, type);
+        } else {
+            // have to evaluate all schemas to collect evaluated properties
+            for (AbstractJsonSchema schema : candidates != null ? candidates : this) {
+                final List e = new ArrayList(evaluated);
+                if (err == null ? (schema.types() & type) != 0 && 
+                                  schema.probe(jsonPointer, value, parent, e, errors, null) :
+                    schema.validate(jsonPointer, value, parent, e, err, callback)) {
+                    e.removeAll(eva);
+                    eva.addAll(e);
+                    match = true; // found the schema that matches
+                }
             }
         }
 
@@ -82,11 +123,52 @@ public class JsonAnyOfImpl<T extends JsonValue> extends SchemaArrayImpl<T>
             eva.removeAll(evaluated);
             evaluated.addAll(eva);
         } else {
-            errors.addAll(err);
-            errors.add(new ValidationError(getId(), getJsonPointer(), 
-                    jsonPointer, ValidationMessage.OBJECT_ANY_OF_CONSTRAINT_MSG));
+            if (err == null && !ProbeValidation.isProbe(errors)) {
+                err = ValidationErrorSink.fork(errors);
+                for (AbstractJsonSchema schema : this) {
+                    schema.validate(jsonPointer, value, parent, new ArrayList(evaluated), err, null);
+                }
+            }
+            if (err != null) {
+                ValidationErrorSink.merge(errors, err);
+            }
+            addError(errors, jsonPointer, ValidationMessage.OBJECT_ANY_OF_CONSTRAINT_MSG);
         }
         
         return match;
     }
+
+    /**
+     * Probes subschemas in the adaptive order.
+     * The evaluation stops at the first matching subschema unless evaluated 
+     * properties (items) of other subschemas may be used by 'unevaluated' keywords.
+     */
+    private boolean probe(String jsonPointer, JsonValue value, JsonValue parent,
+            List evaluated, List eva, List errors, int type) {
+        
+        final boolean all = annotations && 
+                (value.getValueType() == JsonValue.ValueType.OBJECT || 
+                 value.getValueType() == JsonValue.ValueType.ARRAY);
+
+        boolean match = false;
+        for (int branch : statistics.order()) {
+            final AbstractJsonSchema schema = statistics.schema(branch);
+            if ((schema.types() & type) == 0) {
+                continue;
+            }
+            final List e = new ArrayList(evaluated);
+            final long time = System.nanoTime();
+            final boolean valid = schema.probe(jsonPointer, value, parent, e, errors, null);
+            statistics.record(branch, valid, System.nanoTime() - time);
+            if (valid) {
+                e.removeAll(eva);
+                eva.addAll(e);
+                match = true;
+                if (!all) {
+                    break;
+                }
+            }
+        }
+        return match;
+    }
 }
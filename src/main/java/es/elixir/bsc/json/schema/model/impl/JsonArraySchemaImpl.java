@@ -28,18 +28,19 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonArraySchema;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
 import es.elixir.bsc.json.schema.ParsingError;
 import es.elixir.bsc.json.schema.ParsingMessage;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -47,6 +48,7 @@ import java.util.stream.Stream;
 import javax.json.JsonArray;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
+import javax.json.JsonString;
 import javax.json.JsonValue;
 
 /**
@@ -56,7 +58,7 @@ import javax.json.JsonValue;
 public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
                                  implements JsonArraySchema {
 
-    private final List<AbstractJsonSchema> items;
+    private List<AbstractJsonSchema> items = List.of();
     
     // the items are actually a 'prefixItems'
     private boolean prefixItems;
@@ -67,19 +69,22 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
     private Boolean unevaluatedItems;
     private AbstractJsonSchema unevaluatedItemsSchema;
     
-    private Long minItems;
-    private Long maxItems;
+    // -1 when not defined
+    private long minItems = -1;
+    private long maxItems = -1;
     
     private AbstractJsonSchema contains;
 
-    private Long minContains;
-    private Long maxContains;
+    // 0 when validated sequentially
+    private int parallelThreshold;
+
+    // -1 when not defined
+    private long minContains = -1;
+    private long maxContains = -1;
 
     public JsonArraySchemaImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
         super(parent, locator, jsonPointer);
-        
-        items = new ArrayList();
     }
 
     @Override
@@ -87,7 +92,7 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
 
         // clone children and set their parent to 'this'
         final Stream<AbstractJsonSchemaElement> children = Stream.concat(
-                Optional.ofNullable(items).map(Collection::stream).orElseGet(Stream::empty),
+                items.stream(),
                 Stream.of(additionalItemsSchema, unevaluatedItemsSchema, contains)
                         .filter(Objects::nonNull))
                         .map(c -> c.relink(this));
@@ -97,6 +102,13 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
                 children.flatMap(e -> Stream.concat(Stream.of(e), e.getChildren())));
     }
 
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return Stream.concat(super.elements(), Stream.concat(items.stream(),
+                Stream.<AbstractJsonSchemaElement>of(additionalItemsSchema, unevaluatedItemsSchema, contains)
+                        .filter(Objects::nonNull)));
+    }
+
     @Override
     public List<AbstractJsonSchema> getItems() {
         // in 2020-12 'items' is a schema
@@ -112,22 +124,22 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
 
     @Override
     public Long getMinItems() {
-        return minItems;
+        return minItems < 0 ? null : minItems;
     }
     
     @Override
     public void setMinItems(Long minItems) {
-        this.minItems = minItems;
+        this.minItems = minItems == null ? -1 : minItems;
     }
 
     @Override
     public Long getMaxItems() {
-        return maxItems;
+        return maxItems < 0 ? null : maxItems;
     }
     
     @Override
     public void setMaxItems(Long maxItems) {
-        this.maxItems = maxItems;
+        this.maxItems = maxItems == null ? -1 : maxItems;
     }
     
     @Override
@@ -152,12 +164,12 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
     
     @Override
     public Long getMinContains() {
-        return minContains;
+        return minContains < 0 ? null : minContains;
     }
     
     @Override
     public Long getMaxContains() {
-        return maxContains;
+        return maxContains < 0 ? null : maxContains;
     }
     
     @Override
@@ -166,15 +178,10 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
 
         super.read(parser, object);
 
-        final JsonNumber min = JsonSchemaUtil.check(object.getJsonNumber(MIN_ITEMS), JsonValue.ValueType.NUMBER);
-        if (min != null) {
-            minItems = min.longValue();
-        }
-        
-        final JsonNumber max = JsonSchemaUtil.check(object.getJsonNumber(MAX_ITEMS), JsonValue.ValueType.NUMBER);
-        if (max != null) {
-            maxItems = max.longValue();
-        }
+        parallelThreshold = ParallelValidation.threshold(parser);
+
+        minItems = JsonSchemaUtil.nonNegative(object.get(MIN_ITEMS), MIN_ITEMS);
+        maxItems = JsonSchemaUtil.nonNegative(object.get(MAX_ITEMS), MAX_ITEMS);
 
         final JsonValue juniqueItems = object.get(UNIQUE_ITEMS);
         if (juniqueItems != null) {
@@ -191,15 +198,8 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
             contains = parser.parse(locator, this, getJsonPointer() + "/" + CONTAINS, jcontains, null);
         }
 
-        final JsonNumber jminContains = JsonSchemaUtil.check(object.getJsonNumber(MIN_CONTAINS), JsonValue.ValueType.NUMBER);
-        if (jminContains != null) {
-            minContains = jminContains.longValue();
-        }
-
-        final JsonNumber jmaxContains = JsonSchemaUtil.check(object.getJsonNumber(MAX_CONTAINS), JsonValue.ValueType.NUMBER);
-        if (jmaxContains != null) {
-            maxContains = jmaxContains.longValue();
-        }
+        minContains = JsonSchemaUtil.nonNegative(object.get(MIN_CONTAINS), MIN_CONTAINS);
+        maxContains = JsonSchemaUtil.nonNegative(object.get(MAX_CONTAINS), MAX_CONTAINS);
 
         JsonValue jitems = object.get(ITEMS);
         JsonValue jadditionalItems = object.get(ADDITIONAL_ITEMS);
@@ -213,7 +213,7 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
                 case OBJECT:
                 case TRUE:
                 case FALSE: final AbstractJsonSchema schema = parser.parse(locator, this, getJsonPointer() + "/" + ITEMS, jitems, null);
-                            items.add(schema);
+                            items = List.of(schema);
                             break;
                 case ARRAY: jprefixitems = jitems.asJsonArray();
                             break;
@@ -227,6 +227,7 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
             
             final String propertyName = prefixItems ? PREFIX_ITEMS : ITEMS;
             
+            items = new ArrayList(jprefixitems.size());
             for (int i = 0, n = jprefixitems.size(); i < n; i++) {
                 final JsonValue value = jprefixitems.get(i);
                 switch(value.getValueType()) {
@@ -270,61 +271,68 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.ARRAY);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
 
         if (value.getValueType() != JsonValue.ValueType.ARRAY) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer, 
-                    ValidationMessage.ARRAY_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer, 
+                    ValidationMessage.ARRAY_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
         
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
 
         final JsonArray array = value.asJsonArray();
         
-        if (minItems != null && array.size() < minItems) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.ARRAY_MIN_ITEMS_CONSTRAINT_MSG, minItems, items == null ? 0 : array.size()));
+        // array items are validated one level deeper
+        final List<ValidationError> nested = LimitedValidation.nested(errors);
+        
+        if (array.size() < minItems) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.ARRAY_MIN_ITEMS_CONSTRAINT_MSG, minItems, items == null ? 0 : array.size());
         }
 
-        if (maxItems != null && array.size() > maxItems) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.ARRAY_MAX_ITEMS_CONSTRAINT_MSG, maxItems, items == null ? 0 : items.size()));
+        if (maxItems >= 0 && array.size() > maxItems) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.ARRAY_MAX_ITEMS_CONSTRAINT_MSG, maxItems, items == null ? 0 : items.size());
         }
 
         if (contains != null) {
             final List eva = new ArrayList();
-            final List<ValidationError> err = new ArrayList<>();
             int cnt = 0;
             for (int i = 0, n = array.size(); i < n; i++) {
                 final JsonValue val = array.get(i);
-                if (contains.validate(jsonPointer, val, parent, eva, err, callback)) {
+                if (contains.probe(jsonPointer, val, parent, eva, nested, callback)) {
                     evaluated.add(i);
                     cnt++;
                 }
             }
             
             if (cnt == 0) {
-                if (minContains == null) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.ARRAY_CONTAINS_CONSTRAINT_MSG));                    
+                if (minContains < 0) {
+                    addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_CONTAINS_CONSTRAINT_MSG);                    
                 } else if (minContains > 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.ARRAY_MIN_CONTAINS_CONSTRAINT_MSG, cnt, minContains));                    
+                    addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_MIN_CONTAINS_CONSTRAINT_MSG, cnt, minContains);                    
                 }
             } else {
-                if (minContains != null && cnt < minContains) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.ARRAY_MIN_CONTAINS_CONSTRAINT_MSG, cnt, minContains));                    
+                if (cnt < minContains) {
+                    addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_MIN_CONTAINS_CONSTRAINT_MSG, cnt, minContains);                    
                 }
-                if (maxContains != null && cnt > maxContains) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.ARRAY_MAX_CONTAINS_CONSTRAINT_MSG, cnt, maxContains));                    
+                if (maxContains >= 0 && cnt > maxContains) {
+                    addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_MAX_CONTAINS_CONSTRAINT_MSG, cnt, maxContains);                    
                 }
             }
         }
@@ -333,43 +341,56 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
             if (items.size() == 1 && additionalItems == null && additionalItemsSchema == null) {
                 // items is a json object - all values must match the schema
                 final AbstractJsonSchema schema = items.get(0);
-                for (int i = 0, n = array.size(); i < n; i++) {
-                    final JsonValue val = array.get(i);
-                    if (schema.validate(jsonPointer + "/" + i, 
-                            val, value, new ArrayList(), errors, callback) &&
-                        !evaluated.contains(i)) {
-                        evaluated.add(i);
+                if (isParallel(array.size())) {
+                    evaluate(evaluated, 0, ParallelValidation.validate(array.size(), 
+                            (i, err) -> schema.validate(jsonPointer + "/" + i, 
+                                    array.get(i), value, new ArrayList(), err, callback), nested));
+                } else {
+                    for (int i = 0, n = array.size(); i < n; i++) {
+                        final JsonValue val = array.get(i);
+                        if (schema.validate(jsonPointer + "/" + i, 
+                                val, value, new ArrayList(), nested, callback) &&
+                            !evaluated.contains(i)) {
+                            evaluated.add(i);
+                        }
                     }
                 }
             } else if (array.size() <= items.size()) {
                 for (int i = 0, n = array.size(); i < n; i++) {
                     final JsonValue val = array.get(i);
                     if (items.get(i).validate(jsonPointer + "/" + i, 
-                            val, value, new ArrayList(), errors, callback) &&
+                            val, value, new ArrayList(), nested, callback) &&
                         !evaluated.contains(i)) {
                         evaluated.add(i);
                     }
                 }
             } else if (Boolean.FALSE.equals(additionalItems)) {
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.ARRAY_LENGTH_MISMATCH_MSG, array.size(), items.size()));
+                addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_LENGTH_MISMATCH_MSG, array.size(), items.size());
             } else {
                 for (int i = 0, n = items.size(); i < n; i++) {
                     final JsonValue val = array.get(i);
                     if (items.get(i).validate(jsonPointer + "/" + i, 
-                            val, value, new ArrayList(), errors, callback) &&
+                            val, value, new ArrayList(), nested, callback) &&
                         !evaluated.contains(i)) {
                         evaluated.add(i);
                     }
                 }
 
                 if (additionalItemsSchema != null) {
-                    for (int i = items.size(), n = array.size(); i < n; i++) {
-                        final JsonValue val = array.get(i);
-                        if (additionalItemsSchema.validate(jsonPointer + "/" + i, 
-                                    val, value, new ArrayList(), errors, callback) &&
-                            !evaluated.contains(i)) {
-                            evaluated.add(i);
+                    final int offset = items.size();
+                    if (isParallel(array.size() - offset)) {
+                        evaluate(evaluated, offset, ParallelValidation.validate(array.size() - offset, 
+                                (i, err) -> additionalItemsSchema.validate(jsonPointer + "/" + (offset + i), 
+                                        array.get(offset + i), value, new ArrayList(), err, callback), nested));
+                    } else {
+                        for (int i = offset, n = array.size(); i < n; i++) {
+                            final JsonValue val = array.get(i);
+                            if (additionalItemsSchema.validate(jsonPointer + "/" + i, 
+                                        val, value, new ArrayList(), nested, callback) &&
+                                !evaluated.contains(i)) {
+                                evaluated.add(i);
+                            }
                         }
                     }
                 }
@@ -379,7 +400,7 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
                         if (!evaluated.contains(i)) {
                             final JsonValue val = array.get(i);
                             if (unevaluatedItemsSchema.validate(jsonPointer + "/" + i, 
-                                        val, value, new ArrayList(), errors, callback)) {
+                                        val, value, new ArrayList(), nested, callback)) {
                                 evaluated.add(i);
                             }
                         }
@@ -399,33 +420,35 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
                     final JsonValue val = array.get(i);
                     if ((additionalItemsSchema != null &&
                         additionalItemsSchema.validate(jsonPointer + "/" + i, 
-                                val, value, new ArrayList(), errors, callback)) ||
+                                val, value, new ArrayList(), nested, callback)) ||
                         (unevaluatedItemsSchema != null &&
                         unevaluatedItemsSchema.validate(jsonPointer + "/" + i, 
-                                val, value, new ArrayList(), errors, callback))) {
+                                val, value, new ArrayList(), nested, callback))) {
                         evaluated.add(i);
                         continue;
                     }
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.ARRAY_UNEVALUATED_ITEM_CONSTRAINT_MSG, i));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.ARRAY_UNEVALUATED_ITEM_CONSTRAINT_MSG, i);
                 }
             }
         }
 
-        if (Boolean.TRUE.equals(uniqueItems)) {
-            final Set values = new HashSet();
+        if (Boolean.TRUE.equals(uniqueItems) && array.size() > 1 && 
+                !distinctNumbers(array) && !distinctStrings(array)) {
+            final Set values = new HashSet(array.size() * 4 / 3 + 1);
             for (int i = 0, n = array.size(); i < n; i++) {
                 final JsonValue val = array.get(i);
                 final Object o;
                 switch(val.getValueType()) {
-                    case NUMBER: o = ((JsonNumber)val).doubleValue(); break;
-                    default: o = val;
+                    case NUMBER: o = CanonicalJsonValue.number((JsonNumber)val); break;
+                    case STRING: o = ((JsonString)val).getString(); break;
+                    case ARRAY:
+                    case OBJECT: o = new CanonicalJsonValue(val); break;
+                    default: o = val.getValueType();
                 }
-                if (values.contains(o)) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.ARRAY_UNIQUE_ITEMS_CONSTRAINT_MSG, val.toString()));
-                } else {
-                    values.add(o);
+                if (!values.add(o)) {
+                    addError(errors, jsonPointer,
+                            ValidationMessage.ARRAY_UNIQUE_ITEMS_CONSTRAINT_MSG, val.toString());
                 }
             }
         }
@@ -434,6 +457,176 @@ public class JsonArraySchemaImpl extends PrimitiveSchemaImpl
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
+    }
+
+    /**
+     * Checks whether the array only contains numbers and all of them are distinct.
+     * This avoids boxing numbers for the (usually unique) arrays of numeric identifiers.
+     * Numbers are compared as doubles, which is only a pre-filter: distinct doubles 
+     * are distinct numbers, but equal doubles are left to the exact check.
+     * 
+     * @param array the array to check
+     * 
+     * @return 'true' if the array is the array of distinct numbers
+     */
+    private static boolean distinctNumbers(JsonArray array) {
+        final double[] numbers = new double[array.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            final JsonValue val = array.get(i);
+            if (val.getValueType() != JsonValue.ValueType.NUMBER) {
+                return false;
+            }
+            numbers[i] = ((JsonNumber)val).doubleValue() + 0.0;
+        }
+        Arrays.sort(numbers);
+        for (int i = 1; i < numbers.length; i++) {
+            if (numbers[i - 1] == numbers[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the array only contains strings and all of them are distinct.
+     * Strings are put into the open addressing table, so no set entries are created.
+     * 
+     * @param array the array to check
+     * 
+     * @return 'true' if the array is the array of distinct strings
+     */
+    private static boolean distinctStrings(JsonArray array) {
+        if (array.get(0).getValueType() != JsonValue.ValueType.STRING) {
+            return false;
+        }
+        final String[] table = new String[Integer.highestOneBit(array.size() * 2 - 1) << 1];
+        final int mask = table.length - 1;
+        for (int i = 0, n = array.size(); i < n; i++) {
+            final JsonValue val = array.get(i);
+            if (val.getValueType() != JsonValue.ValueType.STRING) {
+                return false;
+            }
+            final String str = ((JsonString)val).getString();
+            final int hash = str.hashCode();
+            for (int j = (hash ^ (hash >>> 16)) & mask;; j = (j + 1) & mask) {
+                final String s = table[j];
+                if (s == null) {
+                    table[j] = str;
+                    break;
+                }
+                if (s.hashCode() == hash && s.equals(str)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isParallel(int size) {
+        return parallelThreshold > 0 && size >= parallelThreshold;
+    }
+
+    /**
+     * Adds valid items indexes (shifted by the offset) to the evaluated ones.
+     */
+    private static void evaluate(List evaluated, int offset, BitSet valid) {
+        final Set known = new HashSet(evaluated);
+        for (int i = valid.nextSetBit(0); i >= 0; i = valid.nextSetBit(i + 1)) {
+            if (known.add(offset + i)) {
+                evaluated.add(offset + i);
+            }
+        }
+    }
+
+    /**
+     * Creates the frame to validate the array without building it.
+     * 
+     * @return the frame or null if the array can not be validated incrementally
+     */
+    JsonSchemaStreamValidator.Frame frame(JsonSchemaStreamValidator validator, 
+            String jsonPointer, List<ValidationError> errors) {
+        if (hasInPlaceApplicators() || contains != null || Boolean.TRUE.equals(uniqueItems) ||
+            unevaluatedItems != null || unevaluatedItemsSchema != null) {
+            return null;
+        }
+        return new ArrayFrame(validator, jsonPointer, errors);
+    }
+
+    private class ArrayFrame extends JsonSchemaStreamValidator.Frame {
+        
+        private final JsonSchemaStreamValidator validator;
+        private final String jsonPointer;
+        private final List<ValidationError> errors;
+        private final List<ValidationError> nested;
+
+        // items validation errors that are discarded if the array is too long
+        private final List<ValidationError> pending;
+
+        private int size;
+
+        ArrayFrame(JsonSchemaStreamValidator validator, String jsonPointer, 
+                List<ValidationError> errors) {
+            this.validator = validator;
+            this.jsonPointer = jsonPointer;
+            this.errors = errors;
+
+            nested = LimitedValidation.nested(errors);
+            pending = isSingleSchema() || !Boolean.FALSE.equals(additionalItems) ? 
+                    nested : ValidationErrorSink.fork(nested);
+        }
+
+        @Override
+        void value(JsonValue value) {
+            final AbstractJsonSchema schema = schema(size);
+            final String pointer = jsonPointer + "/" + size++;
+            if (schema != null) {
+                validator.validate(List.of(schema), pointer, value, pending);
+            }
+        }
+
+        @Override
+        JsonSchemaStreamValidator.Frame start(JsonValue.ValueType type) {
+            final AbstractJsonSchema schema = schema(size);
+            final String pointer = jsonPointer + "/" + size++;
+            return validator.frame(schema == null ? List.of() : List.of(schema), 
+                    type, pointer, pending);
+        }
+
+        @Override
+        void end() {
+            if (size < minItems) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_MIN_ITEMS_CONSTRAINT_MSG, minItems, size);
+            }
+
+            if (maxItems >= 0 && size > maxItems) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.ARRAY_MAX_ITEMS_CONSTRAINT_MSG, maxItems, items.size());
+            }
+
+            if (pending != nested) {
+                if (size > items.size()) {
+                    addError(errors, jsonPointer,
+                            ValidationMessage.ARRAY_LENGTH_MISMATCH_MSG, size, items.size());
+                } else {
+                    ValidationErrorSink.merge(nested, pending);
+                }
+            }
+        }
+
+        private AbstractJsonSchema schema(int i) {
+            if (isSingleSchema()) {
+                return items.get(0);
+            }
+            if (i < items.size()) {
+                return items.get(i);
+            }
+            return Boolean.FALSE.equals(additionalItems) ? null : additionalItemsSchema;
+        }
+    }
+
+    private boolean isSingleSchema() {
+        return items.size() == 1 && additionalItems == null && additionalItemsSchema == null;
     }
 }
@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.model.JsonBooleanSchema;
 import java.util.List;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
@@ -57,6 +58,11 @@ public class JsonBooleanSchemaImpl extends PrimitiveSchemaImpl
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.TRUE) | type(JsonValue.ValueType.FALSE);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
@@ -64,12 +70,12 @@ public class JsonBooleanSchemaImpl extends PrimitiveSchemaImpl
         
         if (JsonValue.ValueType.TRUE != value.getValueType() &&
             JsonValue.ValueType.FALSE != value.getValueType()) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.BOOLEAN_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.BOOLEAN_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
         
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
         
@@ -77,6 +83,6 @@ public class JsonBooleanSchemaImpl extends PrimitiveSchemaImpl
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
 }
@@ -35,7 +35,6 @@ import es.elixir.bsc.json.schema.model.JsonConst;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
 import java.util.List;
-import javax.json.JsonNumber;
 
 /**
  * @author Dmitry Repchevsky
@@ -70,15 +69,20 @@ public class JsonConstImpl extends PrimitiveSchemaImpl implements JsonConst {
         
         return this;
     }
+    @Override
+    int types() {
+        return value == null ? 0 : type(value.getValueType());
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
         
         if (this.value == null || !equals(this.value, value)) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
+            addError(errors, jsonPointer,
                     ValidationMessage.CONST_CONSTRAINT_MSG, value.toString(), 
-                    this.value == null ? "" : this.value.toString()));
+                    this.value == null ? "" : this.value.toString());
             return false;
         }
         
@@ -86,23 +90,6 @@ public class JsonConstImpl extends PrimitiveSchemaImpl implements JsonConst {
     }
     
     protected static boolean equals(JsonValue v1, JsonValue v2) {
-        if (v1.getValueType() != v2.getValueType()) {
-            return false;
-        }
-
-        switch(v1.getValueType()) {
-            case NUMBER: return ((JsonNumber)v1).doubleValue() == ((JsonNumber)v2).doubleValue();
-            case ARRAY: if (v1.asJsonArray().size() != v2.asJsonArray().size()) {
-                            return false;
-                        }
-                        for (int i = 0, n = v1.asJsonArray().size(); i < n; i++) {
-                            if (!equals(v1.asJsonArray().get(i), v2.asJsonArray().get(i))) {
-                                return false;
-                            }
-                        }
-                        return true;
-        }
-
-        return v1.equals(v2);
+        return CanonicalJsonValue.equals(v1, v2);
     }
 }
@@ -60,6 +60,11 @@ public class JsonDynamicReferenceImpl extends JsonReferenceImpl
         return Stream.empty(); // TODO
     }
 
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return Stream.empty(); // resolved only in the dynamic scope
+    }
+
     @Override
     public AbstractJsonSchemaElement getSchema() throws JsonSchemaException {
         if (schema == null) {
@@ -27,6 +27,7 @@ package es.elixir.bsc.json.schema.model.impl;
 
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
 import es.elixir.bsc.json.schema.ValidationError;
 import es.elixir.bsc.json.schema.ValidationMessage;
@@ -43,6 +44,12 @@ import javax.json.JsonValue;
 public class JsonEnumImpl extends PrimitiveSchemaImpl implements JsonEnum {
 
     private List<JsonValue> values;
+    
+    // bitmask of the values types
+    private int types;
+    
+    // the set of values for the lookup
+    private JsonValueSet set;
 
     public JsonEnumImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
@@ -57,6 +64,8 @@ public class JsonEnumImpl extends PrimitiveSchemaImpl implements JsonEnum {
     @Override
     public void setValues(List<JsonValue> values) {
         this.values = values;
+        types = types(values);
+        set = values == null ? null : JsonValueSet.of(values);
     }
     
     @Override
@@ -66,28 +75,47 @@ public class JsonEnumImpl extends PrimitiveSchemaImpl implements JsonEnum {
         super.read(parser, object);
         
         values = JsonSchemaUtil.check(object.get(ENUM), JsonValue.ValueType.ARRAY);
+        types = types(values);
+        if (values != null) {
+            set = JsonValueSet.of(values, Boolean.TRUE.equals(parser.getJsonSchemaParserProperties()
+                    .get(JsonSchemaParserConfig.OFF_HEAP_ENUMS)));
+            final List<JsonValue> packed = set.values();
+            if (packed != null) {
+                values = packed;
+            }
+        }
         
         return this;
     }
 
+    @Override
+    int types() {
+        return types;
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
         
-        if (values != null) {
-            final JsonValue.ValueType type = value.getValueType();
-            for (JsonValue v : values) {
-                if (type == v.getValueType() && JsonConstImpl.equals(v, value)) {
-                    return super.validate(jsonPointer, value, parent, evaluated, errors, callback);
-                }
-            }
+        if (set != null && (types & type(value.getValueType())) != 0 && set.contains(value)) {
+            return super.validate(jsonPointer, value, parent, evaluated, errors, callback);
         }
 
-        errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
+        addError(errors, jsonPointer,
                 ValidationMessage.ENUM_INVALID_VALUE_MSG, value.toString(), 
-                values == null ? "" : values.toString()));
+                values == null ? "" : values.toString());
 
         return false;
     }
+
+    private static int types(List<JsonValue> values) {
+        int types = 0;
+        if (values != null) {
+            for (JsonValue v : values) {
+                types |= type(v.getValueType());
+            }
+        }
+        return types;
+    }
 }
@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonIntegerSchema;
 import static es.elixir.bsc.json.schema.model.NumericSchema.MAXIMUM;
@@ -74,14 +75,19 @@ public class JsonIntegerSchemaImpl extends NumericSchemaImpl<BigInteger>
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.NUMBER);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback <JsonValue>callback) {
 
         if (value.getValueType() != JsonValue.ValueType.NUMBER) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
 
@@ -89,15 +95,17 @@ public class JsonIntegerSchemaImpl extends NumericSchemaImpl<BigInteger>
         if(!number.isIntegral()) {
             final BigDecimal decimal = number.bigDecimalValue();
             if (decimal.signum() != 0 && decimal.scale() > 0 && decimal.stripTrailingZeros().scale() > 0) {
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.NUMBER_NOT_INTEGER_MSG, number.numberValue()));
+                addError(errors, jsonPointer,
+                        ValidationMessage.NUMBER_NOT_INTEGER_MSG, number.numberValue());
                 return false;
             }
         }
 
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
-        validate(jsonPointer, number.bigIntegerValue(), errors);
+        if (!isValid(number)) {
+            validate(jsonPointer, number.bigIntegerValue(), errors);
+        }
         
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
 
@@ -105,47 +113,48 @@ public class JsonIntegerSchemaImpl extends NumericSchemaImpl<BigInteger>
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
     
     public void validate(String jsonPointer, BigInteger num, List<ValidationError> errors) {
         if (minimum != null) {
             if (isExclusiveMinimum != null && isExclusiveMinimum) {
                 if (num.compareTo(minimum) <= 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<=", minimum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<=", minimum);
                 }
             } else if (num.compareTo(minimum) < 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<", minimum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<", minimum);
             }
         }
         
         if (maximum != null) {
             if (isExclusiveMaximum != null && isExclusiveMaximum) {
                 if (num.compareTo(maximum) >= 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">=", maximum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">=", maximum);
                 }
             } else if (num.compareTo(maximum) > 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">", maximum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">", maximum);
             }
         }
         
-        if (exclusiveMinimum != null && num.compareTo(BigInteger.valueOf(exclusiveMinimum.longValue())) <= 0) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<=", minimum));
+        final Bounds bounds = bounds();
+        if (exclusiveMinimum != null && new BigDecimal(num).compareTo(bounds.exclusiveMinimum) <= 0) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, num, "<=", exclusiveMinimum);
         }
 
-        if (exclusiveMaximum != null && num.compareTo(BigInteger.valueOf(exclusiveMaximum.longValue())) >= 0) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">=", maximum));
+        if (exclusiveMaximum != null && new BigDecimal(num).compareTo(bounds.exclusiveMaximum) >= 0) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, num, ">=", exclusiveMaximum);
         }
 
         if (multipleOf != null && new BigDecimal(num).divideAndRemainder(multipleOf)[1].compareTo(BigDecimal.ZERO) != 0) {
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.NUMBER_MULTIPLE_OF_CONSTRAINT_MSG, num, multipleOf));
+                addError(errors, jsonPointer,
+                        ValidationMessage.NUMBER_MULTIPLE_OF_CONSTRAINT_MSG, num, multipleOf);
         }
     }
 }
\ No newline at end of file
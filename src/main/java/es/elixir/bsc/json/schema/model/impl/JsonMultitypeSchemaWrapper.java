@@ -55,6 +55,9 @@ public class JsonMultitypeSchemaWrapper extends JsonAnyOfImpl<JsonObject> {
     
     private final JsonArray types;
     
+    // bitmask of the types accepted by the wrapped schemas
+    private int accepted;
+    
     public JsonMultitypeSchemaWrapper(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer,
             JsonArray types) {
@@ -71,6 +74,16 @@ public class JsonMultitypeSchemaWrapper extends JsonAnyOfImpl<JsonObject> {
                 .map(c -> c.relink(this))
                 .flatMap(JsonSchemaElement::getChildren);
     }
+
+    /**
+     * The wrapped types are collapsed as in the {@link #getChildren()}.
+     */
+    @Override
+    Stream<AbstractJsonSchemaElement> walked() {
+        return elements()
+                .filter(s -> s instanceof JsonObjectSchema || s instanceof JsonArraySchema)
+                .flatMap(AbstractJsonSchemaElement::walked);
+    }
     
     @Override
     public JsonAnyOfImpl read(JsonSubschemaParser parser, JsonObject object)
@@ -102,6 +115,15 @@ public class JsonMultitypeSchemaWrapper extends JsonAnyOfImpl<JsonObject> {
             }            
         }
         
+        for (AbstractJsonSchema schema : this) {
+            accepted |= schema.types();
+        }
+
         return this;
     }
+
+    @Override
+    int types() {
+        return accepted;
+    }
 }
@@ -55,6 +55,11 @@ public class JsonNotImpl extends AbstractJsonSchema<JsonValue>
     public Stream<AbstractJsonSchemaElement> getChildren() {
         return schema.relink(this).getChildren();
     }
+
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return schema == null ? Stream.empty() : Stream.of(schema);
+    }
     
     @Override
     public AbstractJsonSchema getJsonSchema() {
@@ -79,9 +84,8 @@ public class JsonNotImpl extends AbstractJsonSchema<JsonValue>
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
         
-        if (schema.validate(jsonPointer, value, parent, new ArrayList(), new ArrayList(), callback)) {
-            errors.add(new ValidationError(getId(), getJsonPointer(),
-                    jsonPointer, ValidationMessage.OBJECT_NOT_CONSTRAINT_MSG));
+        if (schema.probe(jsonPointer, value, parent, new ArrayList(), errors, callback)) {
+            addError(errors, jsonPointer, ValidationMessage.OBJECT_NOT_CONSTRAINT_MSG);
             return false;
         }
         
@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.model.JsonNullSchema;
 import java.util.List;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
@@ -57,18 +58,23 @@ public class JsonNullSchemaImpl extends PrimitiveSchemaImpl
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.NULL);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent,
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
         
         if (JsonValue.NULL.getValueType() != value.getValueType()) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NULL_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.NULL_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
 
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
         
@@ -76,6 +82,6 @@ public class JsonNullSchemaImpl extends PrimitiveSchemaImpl
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
 }
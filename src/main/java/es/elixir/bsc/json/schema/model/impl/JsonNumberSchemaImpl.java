@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonNumberSchema;
 import java.math.BigDecimal;
@@ -69,20 +70,28 @@ public class JsonNumberSchemaImpl extends NumericSchemaImpl<BigDecimal>
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.NUMBER);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
 
         if (value.getValueType() != JsonValue.ValueType.NUMBER) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
         
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
-        validate(jsonPointer, ((JsonNumber)value).bigDecimalValue(), errors);
+        final JsonNumber number = (JsonNumber)value;
+        if (!isValid(number)) {
+            validate(jsonPointer, number.bigDecimalValue(), errors);
+        }
 
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
 
@@ -90,48 +99,49 @@ public class JsonNumberSchemaImpl extends NumericSchemaImpl<BigDecimal>
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
     
     private void validate(String jsonPointer, BigDecimal dec, List<ValidationError> errors) {
+        final Bounds bounds = bounds();
 
         if (minimum != null) {
             if (isExclusiveMinimum != null && isExclusiveMinimum) {
                 if (dec.compareTo(minimum) <= 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<=", minimum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<=", minimum);
                 }
             } else if (dec.compareTo(minimum) < 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<", minimum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<", minimum);
             }
         }
         
         if (maximum != null) {
             if (isExclusiveMaximum != null && isExclusiveMaximum) {
                 if (dec.compareTo(maximum) >= 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec.toPlainString(), ">=", maximum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec.toPlainString(), ">=", maximum);
                 }
             } else if (dec.compareTo(maximum) > 0) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec.toPlainString(), ">", maximum));
+                    addError(errors, jsonPointer,
+                            ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec.toPlainString(), ">", maximum);
             }
         }
         
-        if (exclusiveMinimum != null && dec.compareTo(BigDecimal.valueOf(exclusiveMinimum.doubleValue())) <= 0) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<=", exclusiveMinimum));
+        if (exclusiveMinimum != null && dec.compareTo(bounds.exclusiveMinimum) <= 0) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_MIN_CONSTRAINT_MSG, dec, "<=", exclusiveMinimum);
         }
 
-        if (exclusiveMaximum != null && dec.compareTo(BigDecimal.valueOf(exclusiveMaximum.doubleValue())) >= 0) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec, ">=", exclusiveMaximum));
+        if (exclusiveMaximum != null && dec.compareTo(bounds.exclusiveMaximum) >= 0) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.NUMBER_MAX_CONSTRAINT_MSG, dec, ">=", exclusiveMaximum);
         }
 
         if (multipleOf != null && dec.divideAndRemainder(multipleOf)[1].compareTo(BigDecimal.ZERO) != 0) {
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.NUMBER_MULTIPLE_OF_CONSTRAINT_MSG, dec, multipleOf));
+                addError(errors, jsonPointer,
+                        ValidationMessage.NUMBER_MULTIPLE_OF_CONSTRAINT_MSG, dec, multipleOf);
         }
     }
 }
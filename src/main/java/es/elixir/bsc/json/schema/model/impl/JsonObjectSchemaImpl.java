@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonObjectSchema;
 import es.elixir.bsc.json.schema.model.JsonProperties;
@@ -47,13 +48,12 @@ import javax.json.JsonObject;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
-import javax.json.JsonNumber;
 
 /**
  * @author Dmitry Repchevsky
@@ -63,18 +63,22 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
                                   implements JsonObjectSchema {
 
     private JsonPropertiesImpl properties;
-    private Integer minProperties;
-    private Integer maxProperties;
+    // -1 when not defined
+    private int minProperties = -1;
+    private int maxProperties = -1;
     private JsonStringArray required;
     private JsonPropertiesImpl dependentSchemas;
     private JsonDependentProperties dependentRequired;
     private Boolean additionalProperties;
     private AbstractJsonSchema additionalPropertiesSchema;
-    private JsonPropertiesImpl patternProperties;
+    private JsonPatternPropertiesImpl patternProperties;
     private Boolean unevaluatedProperties;
     private AbstractJsonSchema unevaluatedPropertiesSchema;
     private AbstractJsonSchema propertyNames;
 
+    // 0 when validated sequentially
+    private int parallelThreshold;
+
     public JsonObjectSchemaImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
         super(parent, locator, jsonPointer);
@@ -93,6 +97,14 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
                 super.getChildren(),
                 children.flatMap(AbstractJsonSchemaElement::getChildren));
     }
+
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return Stream.concat(super.elements(), Stream.<AbstractJsonSchemaElement>of(
+                properties, patternProperties, additionalPropertiesSchema,
+                propertyNames, unevaluatedPropertiesSchema, dependentSchemas)
+                .filter(Objects::nonNull));
+    }
     
     @Override
     public JsonPropertiesImpl getProperties() {
@@ -101,12 +113,12 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
 
     @Override
     public Integer getMinProperties() {
-        return minProperties;
+        return minProperties < 0 ? null : minProperties;
     }
     
     @Override
     public Integer getMaxProperties() {
-        return maxProperties;
+        return maxProperties < 0 ? null : maxProperties;
     }
 
     @Override
@@ -171,25 +183,20 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
         
         super.read(parser, object);
         
+        parallelThreshold = ParallelValidation.threshold(parser);
+
         final JsonObject jproperties = JsonSchemaUtil.check(object.get(PROPERTIES), ValueType.OBJECT);
         if (jproperties != null) {
             properties = new JsonPropertiesImpl(this, locator, getJsonPointer() + "/" + PROPERTIES)
                     .read(parser, jproperties);
         }
 
-        final JsonNumber jminProperties = JsonSchemaUtil.check(object.get(MIN_PROPERTIES), ValueType.NUMBER);
-        if (jminProperties != null) {
-            minProperties = jminProperties.intValue();
-        }
-
-        final JsonNumber jmaxProperties = JsonSchemaUtil.check(object.get(MAX_PROPERTIES), ValueType.NUMBER);
-        if (jmaxProperties != null) {
-            maxProperties = jmaxProperties.intValue();
-        }
+        minProperties = (int)Math.min(Integer.MAX_VALUE, JsonSchemaUtil.nonNegative(object.get(MIN_PROPERTIES), MIN_PROPERTIES));
+        maxProperties = (int)Math.min(Integer.MAX_VALUE, JsonSchemaUtil.nonNegative(object.get(MAX_PROPERTIES), MAX_PROPERTIES));
 
         final JsonObject jpatternProperties = JsonSchemaUtil.check(object.get(PATTERN_PROPERTIES), ValueType.OBJECT);
         if (jpatternProperties != null) {
-            patternProperties = new JsonPropertiesImpl(this, locator, getJsonPointer() + "/" + PATTERN_PROPERTIES)
+            patternProperties = new JsonPatternPropertiesImpl(this, locator, getJsonPointer() + "/" + PATTERN_PROPERTIES)
                     .read(parser, jpatternProperties);
         }
         
@@ -262,31 +269,39 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
         return this;
     }
 
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.OBJECT);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
 
         if (value.getValueType() != JsonValue.ValueType.OBJECT) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
         
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
 
         super.validate(jsonPointer, value, parent, evaluated, errors, callback);
         
         final JsonObject object = value.asJsonObject();
         
-        if (minProperties != null && minProperties > object.size()) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_MIN_PROPERTIES_CONSTRAINT_MSG, minProperties, object.size()));            
+        // properties values are validated one level deeper
+        final List<ValidationError> nested = LimitedValidation.nested(errors);
+        
+        if (minProperties > object.size()) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_MIN_PROPERTIES_CONSTRAINT_MSG, minProperties, object.size());            
         }
 
-        if (maxProperties != null && maxProperties < object.size()) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_MAX_PROPERTIES_CONSTRAINT_MSG, maxProperties, object.size()));            
+        if (maxProperties >= 0 && maxProperties < object.size()) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_MAX_PROPERTIES_CONSTRAINT_MSG, maxProperties, object.size());            
         }
         
         if (propertyNames != null) {
@@ -295,31 +310,57 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
             }
         }
         
-        final Set req = new TreeSet(getRequired());
+        // do not use getRequired() which creates an empty array
+        final Set req = required == null ? new TreeSet() : new TreeSet(required);
         final ArrayList eva = new ArrayList();
         
-        if (properties != null) {
+        final boolean parallel = parallelThreshold > 0 && object.size() >= parallelThreshold;
+
+        if (properties != null && parallel) {
+            final Properties props = new Properties();
             for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
                 final String name = entry.getKey();
                 final AbstractJsonSchema property = properties.get(name);
                 if (property != null) {
                     eva.add(name);
                     req.remove(name);
-                    if (property.validate(jsonPointer + "/" + name, entry.getValue(), value, new ArrayList(), errors, callback)) {
+                    props.add(name, entry.getValue(), property);
+                }
+            }
+            props.validate(jsonPointer, value, evaluated, nested, callback);
+        } else if (properties != null) {
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                final String name = entry.getKey();
+                final AbstractJsonSchema property = properties.get(name);
+                if (property != null) {
+                    eva.add(name);
+                    req.remove(name);
+                    if (property.validate(jsonPointer + "/" + name, entry.getValue(), value, new ArrayList(), nested, callback)) {
                         evaluated.add(name);
                     }
                 }
             }
         }
         
-        if (patternProperties != null) {
+        if (patternProperties != null && parallel) {
+            final Properties props = new Properties();
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                final String name = entry.getKey();
+                for (Map.Entry<StringPattern, AbstractJsonSchema> pattern : patternProperties.patterns()) {
+                    if (pattern.getKey().find(name)) {
+                        eva.add(name);
+                        props.add(name, entry.getValue(), pattern.getValue());
+                    }
+                }
+            }
+            props.validate(jsonPointer, value, evaluated, nested, callback);
+        } else if (patternProperties != null) {
             for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
                 final String name = entry.getKey();
-                for (Map.Entry<String, AbstractJsonSchema> property : patternProperties) {
-                    final Matcher matcher = Pattern.compile(property.getKey()).matcher(name);
-                    if (matcher.find()) {
+                for (Map.Entry<StringPattern, AbstractJsonSchema> property : patternProperties.patterns()) {
+                    if (property.getKey().find(name)) {
                         eva.add(name);
-                        if (property.getValue().validate(jsonPointer + "/" + name, entry.getValue(), value, new ArrayList(), errors, callback)) {
+                        if (property.getValue().validate(jsonPointer + "/" + name, entry.getValue(), value, new ArrayList(), nested, callback)) {
                             evaluated.add(name);
                         }
                     }
@@ -330,15 +371,25 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
         if (Boolean.FALSE.equals(additionalProperties)) {
             for (String name : object.keySet()) {
                 if (!eva.contains(name)) {
-                    errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.OBJECT_ADDITIONAL_PROPERTY_CONSTRAINT_MSG, name));
+                    addError(errors, jsonPointer,
+                        ValidationMessage.OBJECT_ADDITIONAL_PROPERTY_CONSTRAINT_MSG, name);
                 }
             }
+        } else if (additionalPropertiesSchema != null && parallel) {
+            final Set<String> names = new HashSet<>(eva);
+            final Properties props = new Properties();
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                final String name = entry.getKey();
+                if (!names.contains(name)) {
+                    props.add(name, entry.getValue(), additionalPropertiesSchema);
+                }
+            }
+            props.validate(jsonPointer, value, evaluated, nested, callback);
         } else if (additionalPropertiesSchema != null) {
             for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
                 final String name = entry.getKey();
                 if (!eva.contains(name) &&
-                    additionalPropertiesSchema.validate(jsonPointer + "/" + name, entry.getValue(), object, new ArrayList(), errors, callback)) {
+                    additionalPropertiesSchema.validate(jsonPointer + "/" + name, entry.getValue(), object, new ArrayList(), nested, callback)) {
                     evaluated.add(name);
                 }
             }            
@@ -355,8 +406,8 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
         }
         
         for (Iterator<String> i = req.iterator(); i.hasNext();) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_REQUIRED_PROPERTY_CONSTRAINT_MSG, i.next()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_REQUIRED_PROPERTY_CONSTRAINT_MSG, i.next());
         }
 
         if (dependentSchemas != null) {
@@ -380,8 +431,8 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
                     final StringArray arr = property.getValue();
                     for (String dname : arr) {
                         if (!object.containsKey(dname)) {
-                            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                                ValidationMessage.OBJECT_DEPENDENT_REQUIRED_CONSTRAINT_MSG, name));                            
+                            addError(errors, jsonPointer,
+                                ValidationMessage.OBJECT_DEPENDENT_REQUIRED_CONSTRAINT_MSG, name);                            
                         }
                     }
                 }
@@ -393,8 +444,8 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
                 if (evaluated.contains(name)) {
                     continue;
                 }
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_UNEVALUATED_PROPERTY_CONSTRAINT_MSG, name));
+                addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_UNEVALUATED_PROPERTY_CONSTRAINT_MSG, name);
             }
         } else if (Boolean.TRUE.equals(unevaluatedProperties)) {
             for (String name : object.keySet()) {
@@ -406,11 +457,11 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
             for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
                 final String name = entry.getKey();
                 if (evaluated.contains(name) ||
-                    unevaluatedPropertiesSchema.validate(jsonPointer + "/" + name, entry.getValue(), object, new ArrayList(), errors, callback)) {
+                    unevaluatedPropertiesSchema.validate(jsonPointer + "/" + name, entry.getValue(), object, new ArrayList(), nested, callback)) {
                     continue;
                 }
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.OBJECT_UNEVALUATED_PROPERTY_CONSTRAINT_MSG, name));
+                addError(errors, jsonPointer,
+                    ValidationMessage.OBJECT_UNEVALUATED_PROPERTY_CONSTRAINT_MSG, name);
             }            
         }
 
@@ -418,6 +469,170 @@ public class JsonObjectSchemaImpl extends PrimitiveSchemaImpl
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
+    }
+
+    /**
+     * Object properties to be validated in parallel.
+     */
+    private static class Properties {
+        
+        private final List<String> names = new ArrayList<>();
+        private final List<JsonValue> values = new ArrayList<>();
+        private final List<AbstractJsonSchema> schemas = new ArrayList<>();
+        
+        void add(String name, JsonValue value, AbstractJsonSchema schema) {
+            names.add(name);
+            values.add(value);
+            schemas.add(schema);
+        }
+
+        void validate(String jsonPointer, JsonValue object, List evaluated, 
+                List<ValidationError> errors, JsonSchemaValidationCallback<JsonValue> callback) {
+            final BitSet valid = ParallelValidation.validate(names.size(), 
+                    (i, err) -> schemas.get(i).validate(jsonPointer + "/" + names.get(i), 
+                            values.get(i), object, new ArrayList(), err, callback), errors);
+            for (int i = valid.nextSetBit(0); i >= 0; i = valid.nextSetBit(i + 1)) {
+                evaluated.add(names.get(i));
+            }
+        }
+    }
+
+    /**
+     * Creates the frame to validate the object without building it.
+     * 
+     * @return the frame or null if the object can not be validated incrementally
+     */
+    JsonSchemaStreamValidator.Frame frame(JsonSchemaStreamValidator validator, 
+            String jsonPointer, List<ValidationError> errors) {
+        if (hasInPlaceApplicators() || dependentSchemas != null ||
+            unevaluatedProperties != null || unevaluatedPropertiesSchema != null) {
+            return null;
+        }
+        return new ObjectFrame(validator, jsonPointer, errors);
+    }
+
+    private class ObjectFrame extends JsonSchemaStreamValidator.Frame {
+        
+        private final JsonSchemaStreamValidator validator;
+        private final String jsonPointer;
+        private final List<ValidationError> errors;
+        private final List<ValidationError> nested;
+        
+        // schemas for the current property
+        private final List<AbstractJsonSchema> schemas = new ArrayList<>();
+
+        // found property names which are either required or dependent
+        private final Set<String> names = new HashSet<>();
+        // found required property names defined in 'properties'
+        private final Set<String> defined = new HashSet<>();
+
+        private int size;
+        private String name;
+
+        ObjectFrame(JsonSchemaStreamValidator validator, String jsonPointer, 
+                List<ValidationError> errors) {
+            this.validator = validator;
+            this.jsonPointer = jsonPointer;
+            this.errors = errors;
+            
+            nested = LimitedValidation.nested(errors);
+        }
+
+        @Override
+        void key(String name) {
+            this.name = name;
+            size++;
+
+            if (propertyNames != null) {
+                propertyNames.validate(Json.createValue(name), errors);
+            }
+
+            final boolean isRequired = required != null && required.contains(name);
+            if (isRequired || dependentRequired != null) {
+                names.add(name);
+            }
+
+            schemas.clear();
+            boolean evaluated = false;
+            if (properties != null) {
+                final AbstractJsonSchema property = properties.get(name);
+                if (property != null) {
+                    evaluated = true;
+                    schemas.add(property);
+                    if (isRequired) {
+                        defined.add(name);
+                    }
+                }
+            }
+
+            if (patternProperties != null) {
+                for (Map.Entry<StringPattern, AbstractJsonSchema> property : patternProperties.patterns()) {
+                    if (property.getKey().find(name)) {
+                        evaluated = true;
+                        schemas.add(property.getValue());
+                    }
+                }
+            }
+
+            if (!evaluated) {
+                if (Boolean.FALSE.equals(additionalProperties)) {
+                    addError(errors, jsonPointer,
+                        ValidationMessage.OBJECT_ADDITIONAL_PROPERTY_CONSTRAINT_MSG, name);
+                } else if (additionalPropertiesSchema != null) {
+                    schemas.add(additionalPropertiesSchema);
+                }
+            }
+        }
+
+        @Override
+        void value(JsonValue value) {
+            validator.validate(schemas, jsonPointer + "/" + name, value, nested);
+        }
+
+        @Override
+        JsonSchemaStreamValidator.Frame start(ValueType type) {
+            return validator.frame(schemas, type, jsonPointer + "/" + name, nested);
+        }
+
+        @Override
+        void end() {
+            if (minProperties > size) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.OBJECT_MIN_PROPERTIES_CONSTRAINT_MSG, minProperties, size);
+            }
+
+            if (maxProperties >= 0 && maxProperties < size) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.OBJECT_MAX_PROPERTIES_CONSTRAINT_MSG, maxProperties, size);
+            }
+
+            if (required != null) {
+                // the same as validate(): unless additional properties are allowed,
+                // only properties defined in 'properties' satisfy 'required'
+                final Set<String> found = Boolean.FALSE.equals(additionalProperties) || 
+                        additionalPropertiesSchema != null ? defined : names;
+                for (String req : required) {
+                    if (!found.contains(req)) {
+                        addError(errors, jsonPointer,
+                                ValidationMessage.OBJECT_REQUIRED_PROPERTY_CONSTRAINT_MSG, req);
+                    }
+                }
+            }
+
+            if (dependentRequired != null) {
+                for (Map.Entry<String, StringArray> property : dependentRequired) {
+                    final String dependent = property.getKey();
+                    if (names.contains(dependent)) {
+                        for (String dname : property.getValue()) {
+                            if (!names.contains(dname)) {
+                                addError(errors, jsonPointer,
+                                    ValidationMessage.OBJECT_DEPENDENT_REQUIRED_CONSTRAINT_MSG, dependent);
+                            }
+                        }
+                    }
+                }
+            }
+        }
     }
 }
@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonOneOf;
 import java.util.ArrayList;
@@ -44,6 +45,9 @@ import javax.json.JsonValue;
 public class JsonOneOfImpl extends SchemaArrayImpl<JsonValue>
                            implements JsonOneOf<AbstractJsonSchema> {
 
+    // the index of subschemas by the discriminating property (if found)
+    private Discriminator discriminator;
+
     public JsonOneOfImpl(AbstractJsonSchema parent, 
             JsonSchemaLocator locator, String jsonPointer) {
         super(parent, locator, jsonPointer);
@@ -57,6 +61,11 @@ public class JsonOneOfImpl extends SchemaArrayImpl<JsonValue>
         return this;
     }
 
+    @Override
+    protected void index(JsonArray array, List<AbstractJsonSchema> schemas) {
+        discriminator = Discriminator.of(array, schemas, this);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent, 
             List evaluated, List errors, JsonSchemaValidationCallback callback) {
@@ -64,10 +73,20 @@ public class JsonOneOfImpl extends SchemaArrayImpl<JsonValue>
         final List<String> matched = new ArrayList();
         
         final List eva = new ArrayList();
-        final List<ValidationError> err = new ArrayList<>();
-        for (AbstractJsonSchema schema : this) {
+        // without the callback schemas are probed and errors are only collected 
+        // when no schema matches
+        List<ValidationError> err = callback == null ? null : ValidationErrorSink.fork(errors);
+
+        // only subschemas that may match the discriminator value are probed
+        final List<AbstractJsonSchema> candidates = err != null || discriminator == null 
+                ? null : discriminator.candidates(value);
+        // subschemas that don't accept the value type are not probed
+        final int type = type(value.getValueType());
+        for (AbstractJsonSchema schema : candidates != null ? candidates : this) {
             final List e = new ArrayList(evaluated);
-            if (schema.validate(jsonPointer, value, parent, e, err, callback)) {
+            if (err == null ? (schema.types() & type) != 0 && 
+                              schema.probe(jsonPointer, value, parent, e, errors, null) :
+                schema.validate(jsonPointer, value, parent, e, err, callback)) {
                 matched.add(schema.getId().toString());
                 eva.clear();
                 eva.addAll(e);
@@ -84,14 +103,22 @@ public class JsonOneOfImpl extends SchemaArrayImpl<JsonValue>
                 evaluated.addAll(eva);
                 return true;
             case 0:
-                errors.addAll(err);
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                        ValidationMessage.OBJECT_ONE_OF_CONSTRAINT_MSG, "no matched schemas found"));
+                if (err == null && !ProbeValidation.isProbe(errors)) {
+                    err = ValidationErrorSink.fork(errors);
+                    for (AbstractJsonSchema schema : this) {
+                        schema.validate(jsonPointer, value, parent, new ArrayList(evaluated), err, null);
+                    }
+                }
+                if (err != null) {
+                    ValidationErrorSink.merge(errors, err);
+                }
+                addError(errors, jsonPointer,
+                        ValidationMessage.OBJECT_ONE_OF_CONSTRAINT_MSG, "no matched schemas found");
                 break;
             default:
-                errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
+                addError(errors, jsonPointer,
                         ValidationMessage.OBJECT_ONE_OF_CONSTRAINT_MSG,
-                        String.format("several schemas matches (%s)", String.join(",", matched))));
+                        String.format("several schemas matches (%s)", String.join(",", matched)));
                 break;
         }
         return false;
@@ -0,0 +1,85 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2023 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaLocator;
+import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.json.JsonObject;
+
+/**
+ * The 'patternProperties' which property names are compiled into the patterns
+ * when the properties are put.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonPatternPropertiesImpl extends JsonPropertiesImpl {
+
+    // compiled property names patterns along with their schemas
+    private final List<Map.Entry<StringPattern, AbstractJsonSchema>> patterns = new ArrayList<>();
+
+    public JsonPatternPropertiesImpl(AbstractJsonSchema parent, 
+            JsonSchemaLocator locator, String jsonPointer) {
+        super(parent, locator, jsonPointer);
+    }
+
+    /**
+     * @return the compiled property names patterns along with their schemas
+     */
+    List<Map.Entry<StringPattern, AbstractJsonSchema>> patterns() {
+        return patterns;
+    }
+
+    @Override
+    public AbstractJsonSchema put(String name, AbstractJsonSchema schema) {
+        final AbstractJsonSchema old = super.put(name, schema);
+        if (old != null) {
+            patterns.removeIf(e -> name.equals(e.getKey().toString()));
+        }
+        patterns.add(Map.entry(StringPattern.compile(name), schema));
+        return old;
+    }
+
+    @Override
+    public AbstractJsonSchema remove(String name) {
+        final AbstractJsonSchema old = super.remove(name);
+        if (old != null) {
+            patterns.removeIf(e -> name.equals(e.getKey().toString()));
+        }
+        return old;
+    }
+
+    @Override
+    public JsonPatternPropertiesImpl read(JsonSubschemaParser parser,
+            JsonObject object) throws JsonSchemaException {
+        super.read(parser, object);
+        return this;
+    }
+}
@@ -60,6 +60,11 @@ public class JsonPropertiesImpl extends AbstractJsonSchemaElement
         return children.flatMap(p -> Stream.concat(Stream.of(p), p.getChildren()));
     }
 
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return properties.values().stream().map(AbstractJsonSchemaElement.class::cast);
+    }
+
     @Override
     public boolean contains(String name) {
         return properties.containsKey(name);
@@ -61,14 +61,25 @@ public class JsonReferenceImpl extends AbstractJsonReferenceImpl implements Json
                 }
                 s = s.getParent();
             }
-            try {
-                schema = getSchema();
-            } catch(JsonSchemaException ex) {
-                return Stream.of(); // unresolvable ref
-            }
+        }
+
+        final AbstractJsonSchemaElement sch;
+        try {
+            sch = resolve();
+        } catch(JsonSchemaException ex) {
+            return Stream.of(); // unresolvable ref
         }
         
-        return schema.relink(this).getChildren();
+        return sch.relink(this).getChildren();
+    }
+
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        try {
+            return Stream.of(resolve());
+        } catch(JsonSchemaException ex) {
+            return Stream.empty(); // unresolvable ref
+        }
     }
 
     @Override
@@ -0,0 +1,98 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.model.JsonSchema;
+import es.elixir.bsc.json.schema.model.JsonSchemaElement;
+import es.elixir.bsc.json.schema.model.JsonSchemaVisitor;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The index of all (sub)schemas found in the parsed Json Schema.
+ * 
+ * The index is built by a single traversal and allows constant time 
+ * lookups of subschemas either by their identifiers or by Json Pointers
+ * (relative to the root schema document).
+ * When several elements share the same identifier (i.e. the types of the
+ * multitype schema) the outermost one is indexed.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonSchemaIndex {
+    
+    private final Map<URI, JsonSchema> ids = new HashMap();
+    private final Map<String, JsonSchema> pointers = new HashMap();
+    
+    public JsonSchemaIndex(AbstractJsonSchemaElement root) {
+        final URI uri = root.locator.uri;
+        root.accept(new JsonSchemaVisitor() {
+            @Override
+            public boolean visit(JsonSchemaElement element, List<JsonSchemaElement> path) {
+                if (element instanceof JsonSchema schema) {
+                    if (ids.putIfAbsent(schema.getId(), schema) == null && 
+                        uri.equals(((AbstractJsonSchemaElement)element).locator.uri)) {
+                        pointers.putIfAbsent(schema.getJsonPointer(), schema);
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Find the (sub)schema by its identifier.
+     * 
+     * @param <T> any implementation specific class that implements JsonSchema
+     * @param id the identifier of the schema (as returned by {@code getId()})
+     * 
+     * @return found schema or null
+     */
+    public <T extends JsonSchema> T get(URI id) {
+        return (T)ids.get(id);
+    }
+
+    /**
+     * Find the (sub)schema by the Json Pointer.
+     * 
+     * @param <T> any implementation specific class that implements JsonSchema
+     * @param jsonPointer Json Pointer relative to the root schema document ("/" for the root)
+     * 
+     * @return found schema or null
+     */
+    public <T extends JsonSchema> T find(String jsonPointer) {
+        return (T)pointers.get(jsonPointer);
+    }
+    
+    /**
+     * @return the number of indexed schemas
+     */
+    public int size() {
+        return ids.size();
+    }
+}
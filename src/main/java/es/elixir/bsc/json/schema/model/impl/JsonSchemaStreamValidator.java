@@ -0,0 +1,433 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import es.elixir.bsc.json.schema.ValidationMessage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+import javax.json.stream.JsonParser;
+
+/**
+ * Push-based Json Schema validator that consumes Json events.
+ * 
+ * Objects and arrays are validated incrementally when their schemas allow it
+ * (no in-place applicators, 'unevaluated*', 'contains', 'uniqueItems' etc.), 
+ * so the memory is proportional to the Json depth.
+ * Otherwise the subtree is buffered and validated as a Json value.
+ * The callback is called only for the buffered (or scalar) values.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonSchemaStreamValidator {
+
+    private final AbstractJsonSchema schema;
+    private final List<ValidationError> errors;
+    private final JsonSchemaValidationCallback<JsonValue> callback;
+    
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    
+    private final int nerrors;
+    private boolean done;
+
+    public JsonSchemaStreamValidator(AbstractJsonSchema schema, 
+            List<ValidationError> errors, JsonSchemaValidationCallback<JsonValue> callback) {
+        this.schema = schema;
+        this.errors = errors;
+        this.callback = callback;
+        this.nerrors = ValidationErrorSink.count(errors);
+    }
+
+    /**
+     * @return 'true' when the whole Json value has been consumed
+     */
+    public boolean isDone() {
+        return done;
+    }
+    
+    /**
+     * @return 'true' if no validation errors found (so far)
+     */
+    public boolean isValid() {
+        return nerrors == ValidationErrorSink.count(errors);
+    }
+
+    /**
+     * Consume the parser event.
+     * 
+     * @param event the current parser event
+     * @param parser the parser positioned at the event
+     */
+    public void event(JsonParser.Event event, JsonParser parser) {
+        switch(event) {
+            case START_OBJECT: startObject(); break;
+            case START_ARRAY: startArray(); break;
+            case END_OBJECT:
+            case END_ARRAY: end(); break;
+            case KEY_NAME: key(parser.getString()); break;
+            default: value(parser.getValue());
+        }
+    }
+
+    public void startObject() {
+        start(ValueType.OBJECT);
+    }
+
+    public void startArray() {
+        start(ValueType.ARRAY);
+    }
+    
+    public void key(String name) {
+        stack.peek().key(name);
+    }
+
+    /**
+     * Consume the Json value. Objects and arrays are replayed as events.
+     * 
+     * @param value the Json value
+     */
+    public void value(JsonValue value) {
+        switch(value.getValueType()) {
+            case OBJECT: startObject();
+                         for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                             key(entry.getKey());
+                             value(entry.getValue());
+                         }
+                         end();
+                         return;
+            case ARRAY:  startArray();
+                         for (JsonValue item : value.asJsonArray()) {
+                             value(item);
+                         }
+                         end();
+                         return;
+        }
+
+        final Frame frame = stack.peek();
+        if (frame != null) {
+            frame.value(value);
+        } else {
+            schema.validate("/", value, null, new ArrayList(), errors, callback);
+            done = true;
+        }
+    }
+
+    /**
+     * Consume the end of the Json object or array.
+     */
+    public void end() {
+        stack.pop().end();
+        done = stack.isEmpty();
+    }
+
+    private void start(ValueType type) {
+        final Frame frame = stack.peek();
+        stack.push(frame == null ? frame(schema, type, "/", errors) : frame.start(type));
+    }
+
+    /**
+     * Creates the frame to validate the Json object or array.
+     * 
+     * @param schema the schema to validate the value
+     * @param type either OBJECT or ARRAY
+     * @param pointer Json Pointer to the value
+     * @param errors the list to put validation errors into
+     * 
+     * @return the frame for the value
+     */
+    Frame frame(AbstractJsonSchema schema, ValueType type, String pointer, 
+            List<ValidationError> errors) {
+        LimitedValidation.step(errors, pointer);
+
+        while (schema instanceof AbstractJsonReferenceImpl ref) {
+            try {
+                schema = ref.resolve();
+            } catch (JsonSchemaException ex) {
+                return new BufferFrame(List.of(schema), type, pointer, errors);
+            }
+        }
+
+        if (schema instanceof BooleanJsonSchemaImpl || rejects(schema, type)) {
+            // validation doesn't depend on the value content
+            schema.validate(pointer, placeholder(type), null, new ArrayList(), errors, null);
+            return new SkipFrame();
+        }
+        
+        if (schema instanceof JsonMultitypeSchemaWrapper wrapper) {
+            AbstractJsonSchema candidate = null;
+            for (AbstractJsonSchema s : wrapper) {
+                if (!rejects(s, type)) {
+                    if (candidate != null) {
+                        return new BufferFrame(List.of(schema), type, pointer, errors);
+                    }
+                    candidate = s;
+                }
+            }
+            if (candidate == null) {
+                schema.validate(pointer, placeholder(type), null, new ArrayList(), errors, null);
+                return new SkipFrame();
+            }
+            return new WrapperFrame(wrapper, candidate, type, pointer, errors);
+        }
+        
+        final Frame frame;
+        if (schema instanceof JsonObjectSchemaImpl object) {
+            frame = object.frame(this, pointer, errors);
+        } else if (schema instanceof JsonArraySchemaImpl array) {
+            frame = array.frame(this, pointer, errors);
+        } else {
+            frame = null;
+        }
+        
+        return frame != null ? frame : new BufferFrame(List.of(schema), type, pointer, errors);
+    }
+    
+    /**
+     * Creates the frame to validate the Json object or array against 
+     * several schemas at once.
+     */
+    Frame frame(List<AbstractJsonSchema> schemas, ValueType type, String pointer, 
+            List<ValidationError> errors) {
+        switch(schemas.size()) {
+            case 0: return new SkipFrame();
+            case 1: return frame(schemas.get(0), type, pointer, errors);
+        }
+        return new BufferFrame(List.copyOf(schemas), type, pointer, errors);
+    }
+    
+    /**
+     * Validates the scalar Json value against the schemas.
+     */
+    void validate(List<AbstractJsonSchema> schemas, String pointer, 
+            JsonValue value, List<ValidationError> errors) {
+        for (int i = 0, n = schemas.size(); i < n; i++) {
+            schemas.get(i).validate(pointer, value, null, new ArrayList(), errors, callback);
+        }
+    }
+
+    /**
+     * Checks whether the schema fails on the type check only.
+     */
+    private static boolean rejects(AbstractJsonSchema schema, ValueType type) {
+        if (schema instanceof JsonObjectSchemaImpl) {
+            return type != ValueType.OBJECT;
+        }
+        if (schema instanceof JsonArraySchemaImpl) {
+            return type != ValueType.ARRAY;
+        }
+        return schema instanceof JsonStringSchemaImpl ||
+               schema instanceof NumericSchemaImpl ||
+               schema instanceof JsonBooleanSchemaImpl ||
+               schema instanceof JsonNullSchemaImpl;
+    }
+    
+    private static JsonValue placeholder(ValueType type) {
+        return type == ValueType.OBJECT ? JsonValue.EMPTY_JSON_OBJECT : JsonValue.EMPTY_JSON_ARRAY;
+    }
+
+    /**
+     * The frame consumes events of one Json object or array.
+     */
+    abstract static class Frame {
+        
+        /**
+         * The key of the next object's property.
+         */
+        void key(String name) {}
+
+        /**
+         * The next scalar value (property value or array item).
+         */
+        abstract void value(JsonValue value);
+
+        /**
+         * The next object or array (property value or array item) starts.
+         * 
+         * @return the frame for the child value
+         */
+        abstract Frame start(ValueType type);
+        
+        /**
+         * The end of this frame's object or array.
+         */
+        abstract void end();
+    }
+
+    /**
+     * Consumes the subtree without any validation.
+     */
+    private static class SkipFrame extends Frame {
+        
+        private int depth;
+
+        @Override
+        void value(JsonValue value) {}
+
+        @Override
+        Frame start(ValueType type) {
+            depth++;
+            return this;
+        }
+
+        @Override
+        void end() {
+            depth--;
+        }
+    }
+
+    /**
+     * Builds the Json value and validates it against the schemas.
+     */
+    private class BufferFrame extends Frame {
+        
+        private final List<AbstractJsonSchema> schemas;
+        private final String pointer;
+        private final List<ValidationError> errors;
+        
+        private final Deque<Object> builders = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+        private String key;
+
+        BufferFrame(List<AbstractJsonSchema> schemas, ValueType type, 
+                String pointer, List<ValidationError> errors) {
+            this.schemas = schemas;
+            this.pointer = pointer;
+            this.errors = errors;
+            
+            start(type);
+        }
+        
+        @Override
+        void key(String name) {
+            key = name;
+        }
+
+        @Override
+        void value(JsonValue value) {
+            final Object builder = builders.peek();
+            if (builder instanceof JsonObjectBuilder object) {
+                object.add(key, value);
+            } else if (builder instanceof JsonArrayBuilder array) {
+                array.add(value);
+            }
+        }
+
+        @Override
+        Frame start(ValueType type) {
+            keys.push(key == null ? "" : key);
+            builders.push(type == ValueType.OBJECT ? 
+                    Json.createObjectBuilder() : Json.createArrayBuilder());
+            return this;
+        }
+
+        @Override
+        void end() {
+            final Object builder = builders.pop();
+            final JsonValue value = builder instanceof JsonObjectBuilder object ?
+                    object.build() : ((JsonArrayBuilder)builder).build();
+            key = keys.pop();
+
+            if (builders.isEmpty()) {
+                for (AbstractJsonSchema s : schemas) {
+                    s.validate(pointer, value, null, new ArrayList(), errors, callback);
+                }
+            } else {
+                value(value);
+            }
+        }
+    }
+
+    /**
+     * Streams the value into the only type of the multitype schema that 
+     * accepts the value. Other types fail on the type check.
+     */
+    private class WrapperFrame extends Frame {
+        
+        private final JsonMultitypeSchemaWrapper wrapper;
+        private final AbstractJsonSchema candidate;
+        private final ValueType type;
+        private final String pointer;
+        private final List<ValidationError> errors;
+        
+        private final List<ValidationError> err;
+        private final Frame frame;
+        
+        WrapperFrame(JsonMultitypeSchemaWrapper wrapper, AbstractJsonSchema candidate, 
+                ValueType type, String pointer, List<ValidationError> errors) {
+            this.wrapper = wrapper;
+            this.candidate = candidate;
+            this.type = type;
+            this.pointer = pointer;
+            this.errors = errors;
+            
+            err = ValidationErrorSink.fork(errors);
+            frame = frame(candidate, type, pointer, err);
+        }
+
+        @Override
+        void key(String name) {
+            frame.key(name);
+        }
+
+        @Override
+        void value(JsonValue value) {
+            frame.value(value);
+        }
+
+        @Override
+        Frame start(ValueType type) {
+            return frame.start(type);
+        }
+
+        @Override
+        void end() {
+            frame.end();
+            if (ValidationErrorSink.count(err) > 0) {
+                // the same errors as 'anyOf' reports
+                for (AbstractJsonSchema s : wrapper) {
+                    if (s == candidate) {
+                        ValidationErrorSink.merge(errors, err);
+                    } else {
+                        s.validate(pointer, placeholder(type), null, new ArrayList(), errors, null);
+                    }
+                }
+                errors.add(new ValidationError(wrapper.getId(), wrapper.getJsonPointer(), 
+                        pointer, ValidationMessage.OBJECT_ANY_OF_CONSTRAINT_MSG));
+            }
+        }
+    }
+}
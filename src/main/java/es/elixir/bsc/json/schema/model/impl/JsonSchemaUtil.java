@@ -28,6 +28,7 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.ParsingError;
 import es.elixir.bsc.json.schema.ParsingMessage;
+import javax.json.JsonNumber;
 import javax.json.JsonValue;
 
 /**
@@ -52,5 +53,28 @@ public interface JsonSchemaUtil {
                     "type", value.getValueType().name(), "either a string or an array"));
         }
         return (U)value;
-    }    
+    }
+    
+    /**
+     * Reads the non-negative integer keyword value (i.e. 'minLength').
+     * 
+     * @param value keyword's Json value or null
+     * @param keyword the name of the keyword
+     * 
+     * @return the value or -1 when no value is provided
+     * 
+     * @throws JsonSchemaException 
+     */
+    static long nonNegative(JsonValue value, String keyword) throws JsonSchemaException {
+        final JsonNumber number = check(value, JsonValue.ValueType.NUMBER);
+        if (number == null) {
+            return -1;
+        }
+        final long l = number.longValue();
+        if (l < 0) {
+            throw new JsonSchemaException(new ParsingError(ParsingMessage.CONSTRAINT_ERROR, 
+                    keyword, number, "must be a non-negative integer"));
+        }
+        return l;
+    }
 }
@@ -28,15 +28,13 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationMessage;
 import es.elixir.bsc.json.schema.model.JsonStringSchema;
 import java.util.List;
 import es.elixir.bsc.json.schema.JsonSchemaValidationCallback;
-import es.elixir.bsc.json.schema.ValidationException;
 import es.elixir.bsc.json.schema.impl.DefaultJsonStringFormatValidator;
-import java.util.regex.Pattern;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
-import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonString;
 import javax.json.JsonValue;
@@ -48,11 +46,12 @@ import javax.json.JsonValue;
 public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
                                   implements JsonStringSchema {
     
-    private Long minLength;
-    private Long maxLength;
+    // -1 when not defined
+    private long minLength = -1;
+    private long maxLength = -1;
     
     private String format;
-    private Pattern pattern;
+    private StringPattern pattern;
 
     public JsonStringSchemaImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
@@ -61,22 +60,22 @@ public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
     
     @Override
     public Long getMinLength() {
-        return minLength;
+        return minLength < 0 ? null : minLength;
     }
     
     @Override
     public void setMinLength(Long minLength) {
-        this.minLength = minLength;
+        this.minLength = minLength == null ? -1 : minLength;
     }
     
     @Override
     public Long getMaxLength() {
-        return maxLength;
+        return maxLength < 0 ? null : maxLength;
     }
     
     @Override
     public void setMaxLength(Long maxLength) {
-        this.maxLength = maxLength;
+        this.maxLength = maxLength == null ? -1 : maxLength;
     }
     
     @Override
@@ -86,13 +85,12 @@ public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
     
     @Override
     public String getPattern() {
-        return pattern == null ? null : pattern.pattern();
+        return pattern == null ? null : pattern.toString();
     }
 
     @Override
     public void setPattern(String pattern) {
-        this.pattern = pattern == null ? null : Pattern.compile(pattern);
-        
+        this.pattern = pattern == null ? null : StringPattern.compile(pattern);
     }
     
     @Override
@@ -106,14 +104,8 @@ public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
 
         super.read(parser, object);
         
-        final JsonNumber min = JsonSchemaUtil.check(object.getJsonNumber(MIN_LENGTH), JsonValue.ValueType.NUMBER);
-        if (min != null) {
-            minLength = min.longValue();
-        }
-        final JsonNumber max = JsonSchemaUtil.check(object.getJsonNumber(MAX_LENGTH), JsonValue.ValueType.NUMBER);
-        if (max != null) {
-            maxLength = max.longValue();
-        }
+        minLength = JsonSchemaUtil.nonNegative(object.get(MIN_LENGTH), MIN_LENGTH);
+        maxLength = JsonSchemaUtil.nonNegative(object.get(MAX_LENGTH), MAX_LENGTH);
         
         final JsonString jformat = JsonSchemaUtil.check(object.getJsonString(FORMAT), JsonValue.ValueType.STRING);
         if (jformat != null) {
@@ -128,18 +120,23 @@ public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
         return this;
     }
     
+    @Override
+    int types() {
+        return type(JsonValue.ValueType.STRING);
+    }
+
     @Override
     public boolean validate(String jsonPointer, JsonValue value, JsonValue parent,
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) {
         
         if (value.getValueType() != JsonValue.ValueType.STRING) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.STRING_EXPECTED_MSG, value.getValueType().name()));
+            addError(errors, jsonPointer,
+                    ValidationMessage.STRING_EXPECTED_MSG, value.getValueType().name());
             return false;
         }
         
-        final int nerrors = errors.size();
+        final int nerrors = ValidationErrorSink.count(errors);
         
         validate(jsonPointer, ((JsonString)value).getString(), errors);
         
@@ -149,33 +146,35 @@ public class JsonStringSchemaImpl extends PrimitiveSchemaImpl
             callback.validated(this, jsonPointer, value, parent, errors);
         }
         
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
     
     private void validate(String jsonPointer, String string, List<ValidationError> errors) {
         
-        if (minLength != null && string.codePointCount(0, string.length()) < minLength) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.STRING_MIN_LENGTH_CONSTRAINT_MSG, string.length(), minLength));
-        }
-        
-        if (maxLength != null && string.codePointCount(0, string.length()) > maxLength) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.STRING_MAX_LENGTH_CONSTRAINT_MSG, string.length(), maxLength));
-
+        // the number of code points is within [(length + 1) / 2, length],
+        // so they are only counted when these bounds are not enough
+        final int length = string.length();
+        if (minLength > (length + 1) / 2 || maxLength >= 0 && maxLength < length) {
+            final int count = string.codePointCount(0, length);
+            if (count < minLength) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.STRING_MIN_LENGTH_CONSTRAINT_MSG, count, minLength);
+            }
+            if (maxLength >= 0 && count > maxLength) {
+                addError(errors, jsonPointer,
+                        ValidationMessage.STRING_MAX_LENGTH_CONSTRAINT_MSG, count, maxLength);
+            }
         }
         
-        if (pattern != null && !pattern.matcher(string).find()) {
-            errors.add(new ValidationError(getId(), getJsonPointer(), jsonPointer,
-                    ValidationMessage.STRING_PATTERN_CONSTRAINT_MSG, pattern, string));
-            
+        if (pattern != null && !pattern.find(string)) {
+            addError(errors, jsonPointer,
+                    ValidationMessage.STRING_PATTERN_CONSTRAINT_MSG, pattern, string);
         }
         
         if (format != null && !format.isEmpty()) {
-            try {
-                DefaultJsonStringFormatValidator.validate(jsonPointer, this, string);
-            } catch (ValidationException ex) {
-                errors.add(ex.error);
+            final ValidationMessage message = DefaultJsonStringFormatValidator.check(format, string);
+            if (message != null) {
+                addError(errors, jsonPointer, message, string);
             }
         }        
     }
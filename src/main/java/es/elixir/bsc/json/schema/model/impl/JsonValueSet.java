@@ -0,0 +1,188 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.json.Json;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * The set of Json values with the canonical equality (see {@link CanonicalJsonValue})
+ * used for 'enum' lookups.
+ * Sets of strings only are kept in the compact open addressing table of strings
+ * or, when there are many of them, in the shared {@link StringDictionary}.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+abstract class JsonValueSet {
+
+    // the minimal number of strings to put them into the dictionary
+    private final static int DICTIONARY_THRESHOLD = 256;
+
+    /**
+     * Creates the set of values.
+     * 
+     * @param values the list of Json values
+     * 
+     * @return the set of values
+     */
+    static JsonValueSet of(List<JsonValue> values) {
+        return of(values, false);
+    }
+
+    /**
+     * Creates the set of values.
+     * 
+     * @param values the list of Json values
+     * @param direct whether large dictionaries are kept off-heap
+     * 
+     * @return the set of values
+     */
+    static JsonValueSet of(List<JsonValue> values, boolean direct) {
+        for (JsonValue value : values) {
+            if (value.getValueType() != JsonValue.ValueType.STRING) {
+                return new Canonical(values);
+            }
+        }
+        if (values.size() >= DICTIONARY_THRESHOLD) {
+            final List<String> strings = new ArrayList<>(values.size());
+            for (JsonValue value : values) {
+                strings.add(((JsonString)value).getString());
+            }
+            final StringDictionary dictionary = StringDictionary.of(strings, direct);
+            if (dictionary != null) {
+                return new Dictionary(dictionary);
+            }
+        }
+        return new Strings(values);
+    }
+
+    /**
+     * @param value the Json value to look for
+     * 
+     * @return 'true' if the set contains the value
+     */
+    abstract boolean contains(JsonValue value);
+
+    /**
+     * Returns the values backed by this set, so the original values may be released.
+     * 
+     * @return the list of values or null if the set doesn't keep them
+     */
+    List<JsonValue> values() {
+        return null;
+    }
+
+    private static final class Canonical extends JsonValueSet {
+        
+        private final Set<CanonicalJsonValue> values;
+
+        private Canonical(List<JsonValue> values) {
+            this.values = new HashSet<>();
+            for (JsonValue value : values) {
+                this.values.add(new CanonicalJsonValue(value));
+            }
+        }
+
+        @Override
+        boolean contains(JsonValue value) {
+            return values.contains(new CanonicalJsonValue(value));
+        }
+    }
+
+    /**
+     * Linear probing table of strings (at most 3/4 full).
+     */
+    private static final class Strings extends JsonValueSet {
+
+        private final String[] table;
+        
+        private Strings(List<JsonValue> values) {
+            table = new String[StringDictionary.capacity(values.size())];
+            for (JsonValue value : values) {
+                final String s = ((JsonString)value).getString();
+                int i = StringDictionary.index(s.hashCode(), table.length);
+                for (; table[i] != null; i = StringDictionary.next(i, table.length)) {
+                    if (s.equals(table[i])) {
+                        break;
+                    }
+                }
+                table[i] = s;
+            }
+        }
+
+        @Override
+        boolean contains(JsonValue value) {
+            if (value.getValueType() != JsonValue.ValueType.STRING) {
+                return false;
+            }
+            final String s = ((JsonString)value).getString();
+            for (int i = StringDictionary.index(s.hashCode(), table.length); table[i] != null; 
+                    i = StringDictionary.next(i, table.length)) {
+                if (s.equals(table[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Dictionary extends JsonValueSet {
+        
+        private final StringDictionary dictionary;
+
+        private Dictionary(StringDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        boolean contains(JsonValue value) {
+            return value.getValueType() == JsonValue.ValueType.STRING &&
+                   dictionary.contains(((JsonString)value).getString());
+        }
+
+        @Override
+        List<JsonValue> values() {
+            return new AbstractList<JsonValue>() {
+                @Override
+                public JsonValue get(int index) {
+                    return Json.createValue(dictionary.get(index));
+                }
+
+                @Override
+                public int size() {
+                    return dictionary.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import es.elixir.bsc.json.schema.ValidationMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The error sink that enforces validation limits.
+ * 
+ * Schemas report every evaluation via the {@link #step(List, String)}.
+ * Objects and arrays validate their children with the {@link #nested(List)} 
+ * sink, so the sink knows the depth of the validated value.
+ * When a limit is reached the sink throws the (stackless) Exceeded exception
+ * which is caught by the validation entry point.
+ * Forks of the sink share the same budget, but errors of speculative branches
+ * are not counted against the maximum number of errors until merged back.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class LimitedValidation extends ValidationErrorSink {
+    
+    // check the deadline once per this number of steps
+    private final static int DEADLINE_CHECK_STEPS = 256;
+
+    private final List<ValidationError> target;
+    private final Budget budget;
+    private final boolean speculative;
+    
+    // the depth of the validated value ('0' for the root)
+    private final int depth;
+
+    /**
+     * @param errors the list to put validation errors into
+     * @param limits the validation limits
+     */
+    LimitedValidation(List<ValidationError> errors, ValidationLimits limits) {
+        this(errors, new Budget(limits), false, 0);
+    }
+
+    private LimitedValidation(List<ValidationError> target, Budget budget, 
+            boolean speculative, int depth) {
+        super(target);
+        this.target = target;
+        this.budget = budget;
+        this.speculative = speculative;
+        this.depth = depth;
+    }
+
+    /**
+     * Accounts one evaluation step of the value located at the 'jsonPointer'.
+     * 
+     * @param errors the list of errors passed to the validating schema
+     * @param jsonPointer the Json pointer of the validated value
+     */
+    static void step(List<ValidationError> errors, String jsonPointer) {
+        if (errors instanceof LimitedValidation sink) {
+            sink.budget.step(jsonPointer, sink.depth);
+        }
+    }
+
+    /**
+     * Creates the list to validate children of the object or array.
+     * Errors reported into the list go straight to the 'errors'.
+     * 
+     * @param errors the list of errors passed to the object or array schema
+     * 
+     * @return the list of errors for the children values
+     */
+    static List<ValidationError> nested(List<ValidationError> errors) {
+        return errors instanceof LimitedValidation sink ? 
+                new LimitedValidation(sink, sink.budget, true, sink.depth + 1) : errors;
+    }
+
+    @Override
+    public ValidationErrorSink fork() {
+        return new LimitedValidation(ValidationErrorSink.fork(target), budget, true, depth);
+    }
+
+    @Override
+    public ValidationErrorSink counter() {
+        return new LimitedValidation(counting(), budget, true, depth);
+    }
+
+    /**
+     * @return the probe sink which shares the budget of this one
+     */
+    ValidationErrorSink probe() {
+        return new LimitedValidation(ProbeValidation.PROBE, budget, true, depth);
+    }
+
+    boolean isProbe() {
+        return target == ProbeValidation.PROBE || 
+               target instanceof LimitedValidation sink && sink.isProbe();
+    }
+
+    @Override
+    public void merge(ValidationErrorSink fork) {
+        if (fork instanceof LimitedValidation f) {
+            if (f.target instanceof ValidationErrorSink) {
+                ValidationErrorSink.merge(target, f.target);
+                count += f.count;
+                check(null);
+            } else {
+                for (ValidationError error : f.target) {
+                    add(error);
+                }
+            }
+        } else {
+            super.merge(fork);
+        }
+    }
+
+    @Override
+    protected void accept(ValidationError error) {
+        target.add(error);
+        check(error);
+    }
+
+    private void check(ValidationError error) {
+        if (!speculative && budget.maxErrors > 0 && count >= budget.maxErrors) {
+            throw budget.exceed(ValidationMessage.VALIDATION_MAX_ERRORS_LIMIT_MSG, 
+                    error == null ? "/" : error.pointer, budget.maxErrors);
+        }
+    }
+
+    /**
+     * The validation limits shared among the sink forks (possibly used in parallel).
+     */
+    private static class Budget {
+        private final int maxErrors;
+        private final int maxDepth;
+        private final long maxSteps;
+        private final long deadline;
+        private final boolean hasDeadline;
+
+        private final AtomicLong steps = new AtomicLong();
+        private volatile Exceeded exceeded;
+
+        Budget(ValidationLimits limits) {
+            maxErrors = limits.getMaxErrors();
+            maxDepth = limits.getMaxDepth();
+            maxSteps = limits.getMaxSteps();
+
+            final long now = System.nanoTime();
+            long nanos = Long.MAX_VALUE;
+            final Duration timeout = limits.getTimeout();
+            if (timeout != null) {
+                nanos = timeout.toNanos();
+            }
+            final Instant instant = limits.getDeadline();
+            if (instant != null) {
+                nanos = Math.min(nanos, Duration.between(Instant.now(), instant).toNanos());
+            }
+            hasDeadline = nanos != Long.MAX_VALUE;
+            deadline = now + nanos;
+        }
+
+        void step(String jsonPointer, int depth) {
+            final Exceeded ex = exceeded;
+            if (ex != null) {
+                throw ex; // stop parallel validation branches
+            }
+            
+            final long n = steps.incrementAndGet();
+            if (maxSteps > 0 && n > maxSteps) {
+                throw exceed(ValidationMessage.VALIDATION_MAX_STEPS_LIMIT_MSG, jsonPointer, maxSteps);
+            }
+            if (hasDeadline && (n == 1 || n % DEADLINE_CHECK_STEPS == 0) && 
+                System.nanoTime() - deadline > 0) {
+                throw exceed(ValidationMessage.VALIDATION_DEADLINE_LIMIT_MSG, jsonPointer);
+            }
+            if (maxDepth > 0 && depth > maxDepth) {
+                throw exceed(ValidationMessage.VALIDATION_MAX_DEPTH_LIMIT_MSG, jsonPointer, maxDepth);
+            }
+        }
+
+        Exceeded exceed(ValidationMessage message, String jsonPointer, Object... args) {
+            final Exceeded ex = new Exceeded(message, jsonPointer, args);
+            exceeded = ex;
+            return ex;
+        }
+    }
+
+    /**
+     * The exception thrown when the validation limit is reached.
+     */
+    static final class Exceeded extends RuntimeException {
+        final ValidationMessage limit;
+        final String pointer;
+        final Object[] args;
+
+        private Exceeded(ValidationMessage limit, String pointer, Object[] args) {
+            super(limit.VALUE, null, false, false);
+            this.limit = limit;
+            this.pointer = pointer;
+            this.args = args;
+        }
+    }
+}
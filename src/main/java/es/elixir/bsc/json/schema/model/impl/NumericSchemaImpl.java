@@ -32,6 +32,7 @@ import es.elixir.bsc.json.schema.ParsingMessage;
 import es.elixir.bsc.json.schema.model.NumericSchema;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
@@ -53,6 +54,9 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
 
     protected Number exclusiveMinimum;
     protected Number exclusiveMaximum;
+
+    // bounds pre-converted for the fast validation (calculated on first use)
+    private volatile Bounds bounds;
     
     public NumericSchemaImpl(AbstractJsonSchemaElement parent, 
             JsonSchemaLocator locator, String jsonPointer) {
@@ -67,6 +71,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setMultipleOf(BigDecimal multipleOf) {
         this.multipleOf = multipleOf;
+        bounds = null;
     }
     
     @Override
@@ -77,6 +82,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setMinimum(T minimum) {
         this.minimum = minimum;
+        bounds = null;
     }
     
     @Override
@@ -87,6 +93,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setMaximum(T max) {
         this.maximum = max;
+        bounds = null;
     }
 
     @Override
@@ -97,6 +104,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setExclusiveMinimum(Boolean isExclusiveMinimum) {
         this.isExclusiveMinimum = isExclusiveMinimum;
+        bounds = null;
     }
 
     @Override
@@ -107,6 +115,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setExclusiveMinimum(Number exclusiveMinimum) {
         this.exclusiveMinimum = exclusiveMinimum;
+        bounds = null;
     }
 
     @Override
@@ -117,6 +126,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setExclusiveMaximum(Boolean isExclusiveMaximum) {
         this.isExclusiveMaximum = isExclusiveMaximum;
+        bounds = null;
     }
 
     @Override
@@ -127,6 +137,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
     @Override
     public void setExclusiveMaximum(Number exclusiveMaximum) {
         this.exclusiveMaximum = exclusiveMaximum;
+        bounds = null;
     }
     
     @Override
@@ -143,7 +154,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
         final JsonValue jexclusiveMinimum = object.get(EXCLUSIVE_MINIMUM);
         if (jexclusiveMinimum != null) {
             switch(jexclusiveMinimum.getValueType()) {
-                case NUMBER: exclusiveMinimum = ((JsonNumber)jexclusiveMinimum).doubleValue();
+                case NUMBER: exclusiveMinimum = ((JsonNumber)jexclusiveMinimum).bigDecimalValue();
                              break;
                 case TRUE:   isExclusiveMinimum = true;
                 case FALSE:  break;
@@ -155,7 +166,7 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
         final JsonValue jexclusiveMaximum = object.get(EXCLUSIVE_MAXIMUM);
         if (jexclusiveMaximum != null) {
             switch(jexclusiveMaximum.getValueType()) {
-                case NUMBER: exclusiveMaximum = ((JsonNumber)jexclusiveMaximum).doubleValue();
+                case NUMBER: exclusiveMaximum = ((JsonNumber)jexclusiveMaximum).bigDecimalValue();
                              break;
                 case TRUE:   isExclusiveMaximum = true;
                 case FALSE:  break;
@@ -166,4 +177,127 @@ public abstract class NumericSchemaImpl<T extends Number> extends PrimitiveSchem
 
         return this;
     }    
+
+    /**
+     * @return the bounds pre-converted for the fast validation
+     */
+    final Bounds bounds() {
+        Bounds b = bounds;
+        if (b == null) {
+            bounds = b = new Bounds(this);
+        }
+        return b;
+    }
+
+    /**
+     * Checks the number against bounds and 'multipleOf' using long or double 
+     * arithmetic. The check never rejects the number: 'false' only means that 
+     * the exact (BigDecimal) validation is required.
+     * 
+     * @param number the Json number to check
+     * 
+     * @return 'true' if the number is definitely valid
+     */
+    final boolean isValid(JsonNumber number) {
+        final Bounds b = bounds();
+        if (number.isIntegral()) {
+            final long value;
+            try {
+                value = number.longValueExact();
+            } catch (ArithmeticException ex) {
+                return false;
+            }
+            return b.longs && value >= b.lowLong && value <= b.highLong &&
+                   (multipleOf == null || b.multipleOf > 0 && value % b.multipleOf == 0);
+        }
+        if (multipleOf != null) {
+            return false;
+        }
+        // the rounding is monotonic, so the double strictly within double bounds
+        // means that the number is within the exact bounds
+        final double value = number.doubleValue();
+        return value > b.lowDouble && value < b.highDouble;
+    }
+
+    /**
+     * Numeric bounds pre-converted to the exact BigDecimal values and to the
+     * long and double values used by the fast validation path.
+     */
+    static final class Bounds {
+
+        private final static BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+        private final static BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+        final BigDecimal exclusiveMinimum;
+        final BigDecimal exclusiveMaximum;
+
+        // whether the long bounds are applicable
+        final boolean longs;
+
+        // inclusive bounds for long values
+        final long lowLong;
+        final long highLong;
+
+        // exclusive bounds for double values
+        final double lowDouble;
+        final double highDouble;
+        
+        // the integral 'multipleOf' (or 0)
+        final long multipleOf;
+
+        private Bounds(NumericSchemaImpl<?> schema) {
+            exclusiveMinimum = schema.exclusiveMinimum == null ? null :
+                    new BigDecimal(schema.exclusiveMinimum.toString());
+            exclusiveMaximum = schema.exclusiveMaximum == null ? null :
+                    new BigDecimal(schema.exclusiveMaximum.toString());
+
+            final BigDecimal minimum = schema.minimum == null ? null : 
+                    new BigDecimal(schema.minimum.toString());
+            final BigDecimal maximum = schema.maximum == null ? null : 
+                    new BigDecimal(schema.maximum.toString());
+            final boolean exclusiveMin = Boolean.TRUE.equals(schema.isExclusiveMinimum);
+            final boolean exclusiveMax = Boolean.TRUE.equals(schema.isExclusiveMaximum);
+
+            BigDecimal low = LONG_MIN;
+            BigDecimal high = LONG_MAX;
+            double lowD = Double.NEGATIVE_INFINITY;
+            double highD = Double.POSITIVE_INFINITY;
+            
+            if (minimum != null) {
+                low = low.max(exclusiveMin ? floor(minimum).add(BigDecimal.ONE) : ceil(minimum));
+                lowD = Math.max(lowD, minimum.doubleValue());
+            }
+            if (exclusiveMinimum != null) {
+                low = low.max(floor(exclusiveMinimum).add(BigDecimal.ONE));
+                lowD = Math.max(lowD, exclusiveMinimum.doubleValue());
+            }
+            if (maximum != null) {
+                high = high.min(exclusiveMax ? ceil(maximum).subtract(BigDecimal.ONE) : floor(maximum));
+                highD = Math.min(highD, maximum.doubleValue());
+            }
+            if (exclusiveMaximum != null) {
+                high = high.min(ceil(exclusiveMaximum).subtract(BigDecimal.ONE));
+                highD = Math.min(highD, exclusiveMaximum.doubleValue());
+            }
+
+            // no long value is within bounds outside the long range
+            longs = low.compareTo(LONG_MAX) <= 0 && high.compareTo(LONG_MIN) >= 0;
+            lowLong = longs ? low.longValue() : 0;
+            highLong = longs ? high.longValue() : 0;
+            lowDouble = lowD;
+            highDouble = highD;
+            
+            final BigDecimal mul = schema.multipleOf;
+            multipleOf = mul != null && mul.signum() > 0 && mul.stripTrailingZeros().scale() <= 0 &&
+                    mul.compareTo(LONG_MAX) <= 0 ? mul.longValue() : 0;
+        }
+
+        private static BigDecimal floor(BigDecimal value) {
+            return value.setScale(0, RoundingMode.FLOOR);
+        }
+
+        private static BigDecimal ceil(BigDecimal value) {
+            return value.setScale(0, RoundingMode.CEILING);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join validation of independent parts of the Json value 
+ * (array items or object properties).
+ * 
+ * Every task collects validation errors into its own list. The lists are merged
+ * in the parts order, so errors are the same as of the sequential validation.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+class ParallelValidation extends RecursiveAction {
+    
+    private final static int MIN_PARTS_PER_TASK = 16;
+
+    @FunctionalInterface
+    interface Part {
+        /**
+         * Validates the part of the value.
+         * 
+         * @param index the index of the part
+         * @param errors the list to put validation errors into
+         * 
+         * @return 'true' if the part is valid
+         */
+        boolean validate(int index, List<ValidationError> errors);
+    }
+    
+    private final Part part;
+    private final int from;
+    private final int to;
+    private final int parts;
+    
+    private final List<ValidationError> errors;
+    private final BitSet valid = new BitSet();
+
+    private ParallelValidation(Part part, int from, int to, int parts, 
+            List<ValidationError> errors) {
+        this.part = part;
+        this.errors = ValidationErrorSink.fork(errors);
+        this.from = from;
+        this.to = to;
+        this.parts = parts;
+    }
+
+    /**
+     * Gets the parallel validation threshold from the parser configuration.
+     * 
+     * @return the threshold or 0 if not configured
+     */
+    static int threshold(JsonSubschemaParser parser) {
+        final Object threshold = parser.getJsonSchemaParserProperties()
+                .get(JsonSchemaParserConfig.PARALLEL_THRESHOLD);
+        return threshold instanceof Integer t && t > 0 ? t : 0;
+    }
+    
+    /**
+     * Validates 'size' parts in parallel.
+     * 
+     * @param size the number of parts to validate
+     * @param part the part validation function
+     * @param errors the list to put validation errors into
+     * 
+     * @return the indexes of valid parts
+     */
+    static BitSet validate(int size, Part part, List<ValidationError> errors) {
+        final int parts = Math.max(MIN_PARTS_PER_TASK, 
+                size / (8 * ForkJoinPool.getCommonPoolParallelism()));
+        final ParallelValidation task = new ParallelValidation(part, 0, size, parts, errors);
+        ForkJoinPool.commonPool().invoke(task);
+        ValidationErrorSink.merge(errors, task.errors);
+        return task.valid;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= parts) {
+            for (int i = from; i < to; i++) {
+                if (part.validate(i, errors)) {
+                    valid.set(i);
+                }
+            }
+        } else {
+            final int mid = (from + to) >>> 1;
+            final ParallelValidation left = new ParallelValidation(part, from, mid, parts, errors);
+            final ParallelValidation right = new ParallelValidation(part, mid, to, parts, errors);
+            invokeAll(left, right);
+            
+            ValidationErrorSink.merge(errors, left.errors);
+            ValidationErrorSink.merge(errors, right.errors);
+            valid.or(left.valid);
+            valid.or(right.valid);
+        }
+    }
+}
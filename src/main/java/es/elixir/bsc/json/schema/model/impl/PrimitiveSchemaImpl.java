@@ -32,6 +32,7 @@ import es.elixir.bsc.json.schema.JsonSchemaVersion;
 import es.elixir.bsc.json.schema.ParsingError;
 import es.elixir.bsc.json.schema.ParsingMessage;
 import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
 import es.elixir.bsc.json.schema.ValidationException;
 import java.util.List;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
@@ -97,7 +98,21 @@ public class PrimitiveSchemaImpl extends AbstractJsonSchema<JsonObject>
         
         return children.flatMap(AbstractJsonSchemaElement::getChildren);
     }
+
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return Stream.<AbstractJsonSchemaElement>of(allOf, anyOf, oneOf, not, _if, _then, _else, ref)
+                .filter(Objects::nonNull);
+    }
     
+    /**
+     * @return 'true' if the schema has applicators that validate the value in place
+     */
+    boolean hasInPlaceApplicators() {
+        return allOf != null || anyOf != null || oneOf != null || 
+               not != null || _if != null || ref != null;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -330,7 +345,9 @@ public class PrimitiveSchemaImpl extends AbstractJsonSchema<JsonObject>
             List evaluated, List<ValidationError> errors,
             JsonSchemaValidationCallback<JsonValue> callback) throws ValidationException {
 
-        final int nerrors = errors.size();
+        LimitedValidation.step(errors, jsonPointer);
+
+        final int nerrors = ValidationErrorSink.count(errors);
         
         final List eva = new ArrayList();
         if (allOf != null) {
@@ -368,7 +385,7 @@ public class PrimitiveSchemaImpl extends AbstractJsonSchema<JsonObject>
         if (_if != null) {
             final List e = new ArrayList(evaluated);
             final AbstractJsonSchema choice;
-            if (_if.validate(jsonPointer, value, parent, e, new ArrayList(), callback)) {
+            if (_if.probe(jsonPointer, value, parent, e, errors, callback)) {
                 choice = _then;
                 e.removeAll(eva);
                 eva.addAll(e);
@@ -391,11 +408,11 @@ public class PrimitiveSchemaImpl extends AbstractJsonSchema<JsonObject>
             }
         }
 
-        if (nerrors == errors.size()) {
+        if (nerrors == ValidationErrorSink.count(errors)) {
             eva.removeAll(evaluated);
             evaluated.addAll(eva);
         }
 
-        return nerrors == errors.size();
+        return nerrors == ValidationErrorSink.count(errors);
     }
 }
@@ -0,0 +1,104 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The error sink for speculative evaluation which result is only 'valid' or 
+ * 'invalid' (i.e. 'not', 'if' or 'anyOf' subschemas).
+ * 
+ * The first reported error stops the evaluation with the (shared, stackless) 
+ * Failure exception, so schemas that report errors via the 
+ * AbstractJsonSchema.addError() do not even build the error.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class ProbeValidation extends ValidationErrorSink {
+    
+    final static ProbeValidation PROBE = new ProbeValidation();
+    final static Failure FAILURE = new Failure();
+
+    private ProbeValidation() {
+        super(Collections.emptyList());
+    }
+
+    /**
+     * @param errors the list of errors of the current evaluation
+     * 
+     * @return the probe sink that keeps limits of the current evaluation
+     */
+    static List<ValidationError> probe(List<ValidationError> errors) {
+        return errors instanceof LimitedValidation sink ? sink.probe() : PROBE;
+    }
+
+    /**
+     * @param errors the list of errors
+     * 
+     * @return 'true' if the errors belong to the probe evaluation
+     */
+    static boolean isProbe(List<ValidationError> errors) {
+        return errors == PROBE || 
+               errors instanceof LimitedValidation sink && sink.isProbe();
+    }
+
+    @Override
+    public ValidationErrorSink fork() {
+        return this;
+    }
+
+    @Override
+    public ValidationErrorSink counter() {
+        return this;
+    }
+
+    @Override
+    public void merge(ValidationErrorSink fork) {
+    }
+
+    @Override
+    public boolean add(ValidationError error) {
+        throw FAILURE;
+    }
+
+    @Override
+    protected void accept(ValidationError error) {
+        throw FAILURE;
+    }
+
+    /**
+     * The exception that stops the probe evaluation.
+     */
+    static final class Failure extends RuntimeException {
+        private Failure() {
+            super(null, null, false, false);
+        }
+    }
+}
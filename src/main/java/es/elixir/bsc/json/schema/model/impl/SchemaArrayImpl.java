@@ -28,9 +28,11 @@ package es.elixir.bsc.json.schema.model.impl;
 import es.elixir.bsc.json.schema.JsonSchemaException;
 import es.elixir.bsc.json.schema.JsonSchemaLocator;
 import es.elixir.bsc.json.schema.model.SchemaArray;
+import java.util.ArrayList;
 import java.util.HashSet;
 import es.elixir.bsc.json.schema.impl.JsonSubschemaParser;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.json.JsonArray;
@@ -64,6 +66,11 @@ public abstract class SchemaArrayImpl<T extends JsonValue>
         return children.flatMap(e -> Stream.concat(Stream.of(e), e.getChildren()));
     }
 
+    @Override
+    protected Stream<AbstractJsonSchemaElement> elements() {
+        return schemas.stream().map(AbstractJsonSchemaElement.class::cast);
+    }
+
     @Override
     public Iterator<AbstractJsonSchema> iterator() {
         return schemas.iterator();
@@ -87,13 +94,26 @@ public abstract class SchemaArrayImpl<T extends JsonValue>
     public SchemaArrayImpl read(JsonSubschemaParser parser, JsonArray array)
             throws JsonSchemaException {
 
+        final List<AbstractJsonSchema> list = new ArrayList(array.size());
         for (int i = 0, n = array.size(); i < n; i++) {
             final JsonValue value = array.get(i);
             final AbstractJsonSchema schema = parser.parse(locator, this, 
                     getJsonPointer() + "/" + Integer.toString(i), value, null);
             add(schema);
+            list.add(schema);
         }
         
+        index(array, list);
+        
         return this;
     }
+    
+    /**
+     * Called after the schema array is read to build any lookup structures.
+     * 
+     * @param array the Json schema array
+     * @param schemas parsed schemas in the order of the schema array
+     */
+    protected void index(JsonArray array, List<AbstractJsonSchema> schemas) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The compact dictionary of strings for very large 'enum' keywords.
+ * 
+ * Strings are packed as UTF-8 bytes into one byte buffer in their original 
+ * order and indexed by the open addressing table of entries (at most 3/4 full).
+ * When the dictionary is off-heap, the bytes, the offsets and the table are all 
+ * kept in direct buffers. The lookup compares UTF-16 chars of the string with 
+ * the stored UTF-8 bytes, so no strings are created. Equal dictionaries are 
+ * shared among all loaded schemas.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class StringDictionary {
+
+    private final static Map<StringDictionary, WeakReference<StringDictionary>> DICTIONARIES = 
+            new WeakHashMap<>();
+
+    private final ByteBuffer blob;
+    private final IntBuffer offsets;
+    
+    // entry index + 1 (0 is an empty slot)
+    private final IntBuffer table;
+    
+    private final int hash;
+
+    private StringDictionary(ByteBuffer blob, IntBuffer offsets, IntBuffer table) {
+        this.blob = blob;
+        this.offsets = offsets;
+        this.table = table;
+        this.hash = blob.hashCode() * 31 + offsets.capacity();
+    }
+
+    /**
+     * Creates (or finds already created) the dictionary.
+     * 
+     * @param strings the strings to put into the dictionary
+     * @param direct whether to put strings into the direct (off-heap) buffer
+     * 
+     * @return the dictionary or null if some strings can't be encoded (lone surrogates)
+     */
+    static StringDictionary of(List<String> strings, boolean direct) {
+        final int n = strings.size();
+        final int[] offsets = new int[n + 1];
+        final byte[][] bytes = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            final String s = strings.get(i);
+            if (!encodable(s)) {
+                return null;
+            }
+            bytes[i] = s.getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + bytes[i].length;
+        }
+
+        final ByteBuffer blob = direct ? ByteBuffer.allocateDirect(offsets[n]) 
+                                       : ByteBuffer.allocate(offsets[n]);
+        for (byte[] b : bytes) {
+            blob.put(b);
+        }
+        blob.flip();
+
+        final int[] table = new int[capacity(n)];
+        for (int i = 0; i < n; i++) {
+            final String s = strings.get(i);
+            int slot = index(s.hashCode(), table.length);
+            for (; table[slot] != 0; slot = next(slot, table.length)) {
+                // duplicated strings are indexed once
+                if (s.equals(strings.get(table[slot] - 1))) {
+                    break;
+                }
+            }
+            if (table[slot] == 0) {
+                table[slot] = i + 1;
+            }
+        }
+
+        final StringDictionary dictionary = new StringDictionary(blob, 
+                buffer(offsets, direct), buffer(table, direct));
+        synchronized(DICTIONARIES) {
+            final WeakReference<StringDictionary> ref = DICTIONARIES.get(dictionary);
+            final StringDictionary shared = ref == null ? null : ref.get();
+            if (shared != null) {
+                return shared;
+            }
+            DICTIONARIES.put(dictionary, new WeakReference<>(dictionary));
+        }
+        return dictionary;
+    }
+
+    /**
+     * @return the number of strings in the dictionary
+     */
+    int size() {
+        return offsets.capacity() - 1;
+    }
+
+    /**
+     * Decodes the string from the dictionary.
+     * 
+     * @param i the index of the string
+     * 
+     * @return the string
+     */
+    String get(int i) {
+        final byte[] bytes = new byte[offsets.get(i + 1) - offsets.get(i)];
+        blob.get(offsets.get(i), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param s the string to look for
+     * 
+     * @return 'true' if the dictionary contains the string
+     */
+    boolean contains(String s) {
+        final int length = table.capacity();
+        for (int slot = index(s.hashCode(), length), entry; (entry = table.get(slot)) != 0; 
+                slot = next(slot, length)) {
+            if (matches(entry - 1, s)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares the string with the UTF-8 encoded dictionary entry.
+     */
+    private boolean matches(int entry, String s) {
+        int pos = offsets.get(entry);
+        final int end = offsets.get(entry + 1);
+        final int length = s.length();
+        
+        // every UTF-16 char takes from 1 to 3 UTF-8 bytes
+        if (end - pos < length || end - pos > length * 3) {
+            return false;
+        }
+        
+        for (int i = 0; i < length; i++) {
+            if (pos >= end) {
+                return false;
+            }
+            final int b = blob.get(pos++) & 0xFF;
+            final char ch = s.charAt(i);
+            if (b < 0x80) {
+                if (ch != b) {
+                    return false;
+                }
+            } else if (b < 0xE0) {
+                if (pos >= end || ch != (((b & 0x1F) << 6) | (blob.get(pos++) & 0x3F))) {
+                    return false;
+                }
+            } else if (b < 0xF0) {
+                if (pos + 1 >= end || ch != (((b & 0x0F) << 12) | 
+                        ((blob.get(pos++) & 0x3F) << 6) | (blob.get(pos++) & 0x3F))) {
+                    return false;
+                }
+            } else {
+                if (pos + 2 >= end || ++i >= length) {
+                    return false;
+                }
+                final int cp = ((b & 0x07) << 18) | ((blob.get(pos++) & 0x3F) << 12) | 
+                        ((blob.get(pos++) & 0x3F) << 6) | (blob.get(pos++) & 0x3F);
+                if (ch != Character.highSurrogate(cp) || s.charAt(i) != Character.lowSurrogate(cp)) {
+                    return false;
+                }
+            }
+        }
+        return pos == end;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StringDictionary other && hash == other.hash &&
+               offsets.equals(other.offsets) && blob.equals(other.blob);
+    }
+
+    /**
+     * Calculates the open addressing table size, so the table is at most 3/4 full.
+     * 
+     * @param n the number of entries
+     * 
+     * @return the table size
+     */
+    static int capacity(int n) {
+        return n + n / 3 + 1;
+    }
+
+    /**
+     * Maps the hash code onto the table of any (not only power of two) size.
+     * 
+     * @param hash the hash code
+     * @param length the table size
+     * 
+     * @return the first slot to probe
+     */
+    static int index(int hash, int length) {
+        return (int)(((hash * 0x9E3779B9) & 0xFFFFFFFFL) * length >>> 32);
+    }
+
+    /**
+     * @return the next slot to probe (linear probing)
+     */
+    static int next(int slot, int length) {
+        return ++slot == length ? 0 : slot;
+    }
+
+    private static IntBuffer buffer(int[] array, boolean direct) {
+        if (!direct) {
+            return IntBuffer.wrap(array);
+        }
+        final IntBuffer buffer = ByteBuffer.allocateDirect(array.length * Integer.BYTES)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+        buffer.put(array).flip();
+        return buffer;
+    }
+
+    /**
+     * Checks that the string has no lone surrogates (which UTF-8 can't encode).
+     */
+    private static boolean encodable(String s) {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            final char ch = s.charAt(i);
+            if (Character.isHighSurrogate(ch)) {
+                if (++i >= n || !Character.isLowSurrogate(s.charAt(i))) {
+                    return false;
+                }
+            } else if (Character.isLowSurrogate(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
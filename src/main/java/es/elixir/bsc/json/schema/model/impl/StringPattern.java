@@ -0,0 +1,362 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.model.impl;
+
+import java.util.regex.Pattern;
+
+/**
+ * The compiled 'pattern' which common forms are matched without the regex engine.
+ * 
+ * The analyzed pattern is an optional '^' anchor, a literal, an optional ASCII 
+ * character class ('[...]', '\d', '\w', '\s') with a quantifier and an optional 
+ * '$' anchor (i.e. 'abc', '^abc$', '^ABC_', '^https://', '^[0-9]+$', '[a-z]{3}$', 
+ * '^id-\d{4,8}'). Character classes are kept as 128 bit maps. 
+ * Other patterns (and strings the analysis can't answer exactly) are matched
+ * with the compiled java.util.regex.Pattern.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class StringPattern {
+    
+    private final static String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Pattern pattern;
+    
+    // whether the pattern is analyzed (otherwise only the regex is used)
+    private final boolean analyzed;
+    
+    private final String literal;
+    private final boolean start;
+    private final boolean end;
+
+    // the character class that follows the literal (if any)
+    private final boolean cls;
+    private final long low;
+    private final long high;
+    private final boolean negated;
+    private final int min;
+    private final int max; // -1 when unbounded
+
+    private StringPattern(Pattern pattern) {
+        this(pattern, false, null, false, false, false, 0, 0, false, 0, 0);
+    }
+
+    private StringPattern(Pattern pattern, boolean analyzed, String literal, 
+            boolean start, boolean end, boolean cls, long low, long high, 
+            boolean negated, int min, int max) {
+        this.pattern = pattern;
+        this.analyzed = analyzed;
+        this.literal = literal;
+        this.start = start;
+        this.end = end;
+        this.cls = cls;
+        this.low = low;
+        this.high = high;
+        this.negated = negated;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Compiles the regular expression.
+     * 
+     * @param regex the regular expression
+     * 
+     * @return compiled pattern
+     */
+    static StringPattern compile(String regex) {
+        final Pattern pattern = Pattern.compile(regex);
+
+        int n = regex.length();
+        if (n > 2 && regex.endsWith(".*") && !regex.endsWith("\\.*")) {
+            n -= 2; // 'abc.*' finds the same strings as 'abc'
+        }
+        
+        final boolean start = n > 0 && regex.charAt(0) == '^';
+        
+        int i = start ? 1 : 0;
+        final StringBuilder literal = new StringBuilder(n);
+        for (; i < n; i++) {
+            final char ch = regex.charAt(i);
+            if (ch == '[') {
+                break;
+            } else if (ch == '\\') {
+                if (i + 1 >= n) {
+                    return new StringPattern(pattern);
+                }
+                final char escaped = regex.charAt(i + 1);
+                if ("dws".indexOf(escaped) >= 0) {
+                    break;
+                }
+                // letters and digits escape character classes, back references, etc.
+                if (escaped >= 0x80 || Character.isLetterOrDigit(escaped)) {
+                    return new StringPattern(pattern);
+                }
+                literal.append(escaped);
+                i++;
+            } else if (ch == '$' || METACHARACTERS.indexOf(ch) >= 0) {
+                break;
+            } else {
+                literal.append(ch);
+            }
+        }
+
+        // the literal character followed by a quantifier is not the literal
+        if (i < n && "?*+{".indexOf(regex.charAt(i)) >= 0) {
+            return new StringPattern(pattern);
+        }
+
+        boolean cls = false;
+        long[] bits = null;
+        boolean negated = false;
+        int min = 0;
+        int max = 0;
+        
+        if (i < n && regex.charAt(i) != '$') {
+            if (regex.charAt(i) != '[' && regex.charAt(i) != '\\') {
+                return new StringPattern(pattern);
+            }
+            bits = new long[2];
+            if (regex.charAt(i) == '\\') {
+                escape(regex.charAt(i + 1), bits);
+                i += 2;
+            } else {
+                // [...]
+                i++;
+                if (i < n && regex.charAt(i) == '^') {
+                    negated = true;
+                    i++;
+                }
+                i = set(regex, i, n, bits);
+                if (i < 0) {
+                    return new StringPattern(pattern);
+                }
+            }
+            cls = true;
+            min = max = 1;
+            if (i < n) {
+                switch(regex.charAt(i)) {
+                    case '+': min = 1; max = -1; i++; break;
+                    case '*': min = 0; max = -1; i++; break;
+                    case '?': min = 0; max = 1; i++; break;
+                    case '{': final int close = regex.indexOf('}', i);
+                              if (close < 0 || close >= n) {
+                                  return new StringPattern(pattern);
+                              }
+                              final String[] range = regex.substring(i + 1, close).split(",", -1);
+                              try {
+                                  min = Integer.parseInt(range[0]);
+                                  max = range.length == 1 ? min : 
+                                        range.length == 2 && range[1].isEmpty() ? -1 : 
+                                        range.length == 2 ? Integer.parseInt(range[1]) : -2;
+                              } catch (NumberFormatException ex) {
+                                  return new StringPattern(pattern);
+                              }
+                              if (max < -1) {
+                                  return new StringPattern(pattern);
+                              }
+                              i = close + 1;
+                }
+            }
+        }
+
+        boolean end = false;
+        if (i == n - 1 && n == regex.length() && regex.charAt(i) == '$') {
+            end = true;
+            i++;
+        }
+        
+        // unanchored literal with the character class is not analyzed
+        if (i != n || cls && !start && literal.length() > 0) {
+            return new StringPattern(pattern);
+        }
+
+        return new StringPattern(pattern, true, literal.toString(), start, end, cls,
+                cls ? bits[0] : 0, cls ? bits[1] : 0, negated, min, max);
+    }
+
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Finds the pattern in the string (as the Matcher.find()).
+     * 
+     * @param string the string to search the pattern in
+     * 
+     * @return 'true' if the pattern is found
+     */
+    boolean find(String string) {
+        if (!analyzed) {
+            return pattern.matcher(string).find();
+        }
+
+        final int length = string.length();
+        
+        // '$' also matches before the final line terminator
+        if (end && length > 0 && isLineTerminator(string.charAt(length - 1))) {
+            return pattern.matcher(string).find();
+        }
+
+        if (!cls) {
+            if (end) {
+                return start ? string.equals(literal) : string.endsWith(literal);
+            }
+            return start ? string.startsWith(literal) : string.contains(literal);
+        }
+
+        if (start) {
+            if (!string.startsWith(literal)) {
+                return false;
+            }
+            final int from = literal.length();
+            final int to = end ? length : from + min;
+            if (to > length) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                final char ch = string.charAt(i);
+                if (negated && Character.isSurrogate(ch)) {
+                    // negated class matches code points
+                    return pattern.matcher(string).find();
+                }
+                if (!matches(ch)) {
+                    return false;
+                }
+            }
+            return !end || to - from >= min && (max < 0 || to - from <= max);
+        }
+
+        // the longest run of class characters (ending at the end of the string)
+        int run = 0;
+        for (int i = 0; i < length && run < min; i++) {
+            final char ch = string.charAt(end ? length - 1 - i : i);
+            if (negated && Character.isSurrogate(ch)) {
+                return pattern.matcher(string).find();
+            }
+            if (matches(ch)) {
+                run++;
+            } else if (end) {
+                break;
+            } else {
+                run = 0;
+            }
+        }
+        return run >= min;
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+
+    private boolean matches(char ch) {
+        if (ch >= 128) {
+            return negated;
+        }
+        final long bit = ch < 64 ? low & (1L << ch) : high & (1L << (ch - 64));
+        return (bit != 0) != negated;
+    }
+
+    /**
+     * Parses the character set up to the closing ']'.
+     * 
+     * @return the position after the set or -1 if the set is not supported
+     */
+    private static int set(String regex, int i, int n, long[] bits) {
+        final int first = i;
+        while (i < n) {
+            char ch = regex.charAt(i++);
+            if (ch == ']' && i - 1 > first) {
+                return i;
+            }
+            if (ch == '\\') {
+                if (i >= n) {
+                    return -1;
+                }
+                final char escaped = regex.charAt(i++);
+                if ("dws".indexOf(escaped) >= 0) {
+                    escape(escaped, bits);
+                    continue;
+                }
+                if (escaped >= 0x80 || Character.isLetterOrDigit(escaped)) {
+                    return -1;
+                }
+                ch = escaped;
+            } else if (ch == '[' || ch == ']' || ch == '&' || ch >= 0x80) {
+                return -1;
+            }
+            
+            // range
+            if (i + 1 < n && regex.charAt(i) == '-' && regex.charAt(i + 1) != ']') {
+                final char last = regex.charAt(i + 1);
+                if (last == '\\' || last == '[' || last >= 0x80 || last < ch) {
+                    return -1;
+                }
+                for (char c = ch; c <= last; c++) {
+                    set(bits, c);
+                }
+                i += 2;
+            } else {
+                set(bits, ch);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the predefined character class (ASCII only as in java.util.regex).
+     */
+    private static void escape(char escaped, long[] bits) {
+        switch(escaped) {
+            case 'w': for (char c = 'a'; c <= 'z'; c++) {
+                          set(bits, c);
+                          set(bits, Character.toUpperCase(c));
+                      }
+                      set(bits, '_');
+                      for (char c = '0'; c <= '9'; c++) {
+                          set(bits, c);
+                      }
+                      break;
+            case 'd': for (char c = '0'; c <= '9'; c++) {
+                          set(bits, c);
+                      }
+                      break;
+            case 's': for (char c : new char[] {' ', '\t', '\n', 0x0B, '\f', '\r'}) {
+                          set(bits, c);
+                      }
+        }
+    }
+
+    private static void set(long[] bits, char ch) {
+        bits[ch >> 6] |= 1L << (ch & 63);
+    }
+
+    private static boolean isLineTerminator(char ch) {
+        return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * JsonGenerator decorator that validates the generated Json value.
+ * 
+ * Every value is validated right after it is passed to the underlying generator,
+ * so the ValidationException is thrown on the first violation, while illegal 
+ * call sequences fail with the generator's JsonGenerationException. 
+ * Constraints that need the whole object or array (e.g. 'required') are 
+ * checked on the writeEnd().
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidatingJsonGenerator implements JsonGenerator {
+    
+    private final JsonGenerator generator;
+    private final List<ValidationError> errors;
+    private final JsonSchemaStreamValidator validator;
+
+    public ValidatingJsonGenerator(AbstractJsonSchema schema, JsonGenerator generator) {
+        this.generator = generator;
+        
+        errors = new ArrayList<>();
+        validator = new JsonSchemaStreamValidator(schema, errors, null);
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        generator.writeStartObject();
+        validator.startObject();
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        generator.writeStartObject(name);
+        validator.key(name);
+        validator.startObject();
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        generator.writeKey(name);
+        validator.key(name);
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        generator.writeStartArray();
+        validator.startArray();
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        generator.writeStartArray(name);
+        validator.key(name);
+        validator.startArray();
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        generator.write(name, value);
+        validate(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        generator.write(name, value);
+        validate(name, Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        generator.write(name, value);
+        validate(name, value ? JsonValue.TRUE : JsonValue.FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        generator.writeNull(name);
+        validate(name, JsonValue.NULL);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        generator.writeEnd();
+        validator.end();
+        check();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        generator.write(value);
+        validate(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        generator.write(value);
+        validate(Json.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        generator.write(value);
+        validate(value ? JsonValue.TRUE : JsonValue.FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        generator.writeNull();
+        validate(JsonValue.NULL);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        generator.close();
+    }
+
+    @Override
+    public void flush() {
+        generator.flush();
+    }
+
+    private void validate(String name, JsonValue value) {
+        validator.key(name);
+        validate(value);
+    }
+
+    private void validate(JsonValue value) {
+        validator.value(value);
+        check();
+    }
+
+    private void check() {
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors.get(0));
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model.impl;
+
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationException;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+
+/**
+ * JsonParser decorator that validates the Json value while the application
+ * consumes the parser events.
+ * 
+ * Validation errors are passed to the listener as soon as they are found.
+ * When no listener is provided, the first error is thrown as the ValidationException 
+ * on close().
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidatingJsonParser implements JsonParser {
+    
+    private final AbstractJsonSchema schema;
+    private final JsonParser parser;
+    private final Consumer<ValidationError> listener;
+    private final List<ValidationError> errors;
+    private final JsonSchemaStreamValidator validator;
+    
+    // 'true' for objects, 'false' for arrays
+    private final Deque<Boolean> containers = new ArrayDeque<>();
+    
+    private Event event;
+    private int reported;
+    private boolean exceeded;
+
+    public ValidatingJsonParser(AbstractJsonSchema schema, JsonParser parser, 
+            Consumer<ValidationError> listener) {
+        this.schema = schema;
+        this.parser = parser;
+        this.listener = listener;
+        
+        errors = new ArrayList<>();
+
+        final ValidationLimits limits = schema.getValidationLimits();
+        validator = new JsonSchemaStreamValidator(schema, limits == null || limits.isUnlimited() ? 
+                errors : new LimitedValidation(errors, limits), null);
+    }
+
+    /**
+     * @return validation errors found so far
+     */
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return 'true' if no validation errors found so far
+     */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return parser.hasNext();
+    }
+
+    @Override
+    public Event next() {
+        event = parser.next();
+        switch(event) {
+            case START_OBJECT: containers.push(Boolean.TRUE); break;
+            case START_ARRAY: containers.push(Boolean.FALSE); break;
+            case END_OBJECT:
+            case END_ARRAY: containers.pop(); break;
+        }
+
+        validate(() -> validator.event(event, parser));
+        return event;
+    }
+
+    @Override
+    public String getString() {
+        return parser.getString();
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        return parser.isIntegralNumber();
+    }
+
+    @Override
+    public int getInt() {
+        return parser.getInt();
+    }
+
+    @Override
+    public long getLong() {
+        return parser.getLong();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        return parser.getBigDecimal();
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        return parser.getLocation();
+    }
+
+    @Override
+    public JsonObject getObject() {
+        final JsonObject object = parser.getObject();
+        validate(() -> {
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                validator.key(entry.getKey());
+                validator.value(entry.getValue());
+            }
+        });
+        end(Event.END_OBJECT);
+        return object;
+    }
+
+    @Override
+    public JsonArray getArray() {
+        final JsonArray array = parser.getArray();
+        validate(() -> {
+            for (JsonValue value : array) {
+                validator.value(value);
+            }
+        });
+        end(Event.END_ARRAY);
+        return array;
+    }
+
+    @Override
+    public JsonValue getValue() {
+        switch(event) {
+            case START_OBJECT: return getObject();
+            case START_ARRAY: return getArray();
+        }
+        return parser.getValue();
+    }
+
+    /**
+     * Streams the array elements validating them as they are consumed.
+     */
+    @Override
+    public Stream<JsonValue> getArrayStream() {
+        final Spliterator<JsonValue> spliterator = parser.getArrayStream().spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<JsonValue>(
+                Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean ended;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super JsonValue> action) {
+                if (spliterator.tryAdvance(value -> {
+                        validate(() -> validator.value(value));
+                        action.accept(value);
+                    })) {
+                    return true;
+                }
+                if (!ended) {
+                    ended = true;
+                    end(Event.END_ARRAY);
+                }
+                return false;
+            }
+        }, false);
+    }
+
+    /**
+     * Streams the object properties validating them as they are consumed.
+     */
+    @Override
+    public Stream<Map.Entry<String, JsonValue>> getObjectStream() {
+        final Spliterator<Map.Entry<String, JsonValue>> spliterator = 
+                parser.getObjectStream().spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<Map.Entry<String, JsonValue>>(
+                Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean ended;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Map.Entry<String, JsonValue>> action) {
+                if (spliterator.tryAdvance(entry -> {
+                        validate(() -> {
+                            validator.key(entry.getKey());
+                            validator.value(entry.getValue());
+                        });
+                        action.accept(entry);
+                    })) {
+                    return true;
+                }
+                if (!ended) {
+                    ended = true;
+                    end(Event.END_OBJECT);
+                }
+                return false;
+            }
+        }, false);
+    }
+
+    /**
+     * Streams the root Json values. Only the first value is validated
+     * against the schema.
+     */
+    @Override
+    public Stream<JsonValue> getValueStream() {
+        return parser.getValueStream().peek(value -> validate(() -> validator.value(value)));
+    }
+
+    /**
+     * Skips the rest of the object. The skipped values are still validated.
+     */
+    @Override
+    public void skipObject() {
+        skip(Boolean.TRUE);
+    }
+
+    /**
+     * Skips the rest of the array. The skipped values are still validated.
+     */
+    @Override
+    public void skipArray() {
+        skip(Boolean.FALSE);
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+        if (listener == null && !errors.isEmpty()) {
+            throw new ValidationException(errors.get(0));
+        }
+    }
+
+    private void skip(Boolean object) {
+        if (object.equals(containers.peek())) {
+            for (int depth = containers.size(); containers.size() >= depth;) {
+                next();
+            }
+        }
+    }
+
+    private void end(Event end) {
+        validate(validator::end);
+        containers.pop();
+        event = end;
+    }
+
+    /**
+     * Passes the event to the validator unless the Json value is already validated
+     * or the validation limits are exceeded.
+     */
+    private void validate(Runnable step) {
+        if (!validator.isDone() && !exceeded) {
+            try {
+                step.run();
+            } catch (LimitedValidation.Exceeded ex) {
+                exceeded = true;
+                schema.exceeded(ex, errors);
+            }
+            report();
+        }
+    }
+
+    private void report() {
+        if (listener != null) {
+            for (int n = errors.size(); reported < n; reported++) {
+                listener.accept(errors.get(reported));
+            }
+        }
+    }
+}
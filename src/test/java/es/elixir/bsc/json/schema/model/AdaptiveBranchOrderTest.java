@@ -0,0 +1,136 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class AdaptiveBranchOrderTest {
+    
+    private final static int BRANCHES = 20;
+    private final static int ITERATIONS = 50000;
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonArrayBuilder branches = Json.createArrayBuilder();
+        for (int i = 0; i < BRANCHES; i++) {
+            branches.add(Json.createObjectBuilder()
+                    .add("type", "string").add("pattern", "^k" + i + "$"));
+        }
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "string").add("anyOf", branches).build());
+
+        final JsonValue last = Json.createValue("k" + (BRANCHES - 1));
+        for (int i = 0; i < ITERATIONS; i++) {
+            Assert.assertTrue(schema.validate(last, new ArrayList<>()));
+        }
+
+        // the root and the most often matched subschema
+        final ValidationLimits limits = new ValidationLimits().setMaxSteps(2);
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(last, errors, null, limits));
+        Assert.assertTrue(errors.isEmpty());
+        
+        // reported errors do not depend on the order
+        Assert.assertFalse(schema.validate(Json.createValue("x"), errors));
+        Assert.assertEquals(BRANCHES + 1, errors.size());
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonArrayBuilder branches = Json.createArrayBuilder();
+        for (int i = 0; i < BRANCHES - 1; i++) {
+            branches.add(Json.createObjectBuilder()
+                    .add("type", "string").add("minLength", 0));
+        }
+        branches.add(Json.createObjectBuilder()
+                .add("type", "string").add("maxLength", 1));
+
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "string").add("not", Json.createObjectBuilder()
+                    .add("type", "string").add("allOf", branches)).build());
+
+        final JsonValue value = Json.createValue("x".repeat(BRANCHES));
+        for (int i = 0; i < ITERATIONS; i++) {
+            Assert.assertTrue(schema.validate(value, new ArrayList<>()));
+        }
+
+        // the root, the 'not' subschema and the most often failed subschema
+        final ValidationLimits limits = new ValidationLimits().setMaxSteps(3);
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(value, errors, null, limits));
+        Assert.assertTrue(errors.isEmpty());
+        
+        Assert.assertFalse(schema.validate(Json.createValue("x"), errors));
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "object")
+                .add("anyOf", Json.createArrayBuilder()
+                    .add(property("a")).add(property("b")).add(property("c")))
+                .add("unevaluatedProperties", false).build());
+
+        final JsonObject object = Json.createObjectBuilder()
+                .add("a", "a").add("b", "b").add("c", "c").build();
+
+        // all matching subschemas are evaluated for 'unevaluatedProperties'
+        for (int i = 0; i < ITERATIONS; i++) {
+            Assert.assertTrue(schema.validate(object, new ArrayList<>()));
+        }
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(Json.createObjectBuilder(object)
+                .add("d", "d").build(), errors));
+    }
+
+    private static JsonObject property(String name) {
+        return Json.createObjectBuilder()
+                .add("type", "object")
+                .add("required", Json.createArrayBuilder().add(name))
+                .add("properties", Json.createObjectBuilder()
+                    .add(name, Json.createObjectBuilder().add("type", "string"))).build();
+    }
+
+    private static JsonSchema read(JsonObject json) throws JsonSchemaException {
+        return JsonSchemaTestUtil.read(new JsonSchemaParserConfig().setAdaptiveBranchOrder(true),
+                Json.createObjectBuilder(json)
+                    .add("$schema", "https://json-schema.org/draft/2020-12/schema").build());
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.json.Json;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class BatchValidationTest {
+    
+    private final static String SCHEMA = 
+            "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\", " +
+            "\"type\": \"array\", \"items\": {\"type\": \"object\", " +
+            "\"properties\": {\"id\": {\"type\": \"integer\", \"minimum\": 0}}}}";
+
+    @Test
+    public void test_01() throws Exception {
+        final JsonSchema schema = read(SCHEMA);
+        final List<JsonValue> values = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            values.add(Json.createArrayBuilder()
+                    .add(Json.createObjectBuilder().add("id", i % 7 == 0 ? -1 : i))
+                    .build());
+        }
+
+        final boolean[] outcomes = schema.validateAll(values);
+        Assert.assertEquals(values.size(), outcomes.length);
+        for (int i = 0; i < outcomes.length; i++) {
+            Assert.assertEquals(i % 7 != 0, outcomes[i]);
+        }
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Assert.assertArrayEquals(outcomes, schema.validateAll(values.stream(), executor, 3));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void test_02() throws Exception {
+        final JsonSchema schema = read(SCHEMA);
+        final List<JsonValue> values = List.of(
+                Json.createReader(new StringReader("[{\"id\": 1}]")).readValue(),
+                Json.createReader(new StringReader("[{\"id\": -1}]")).readValue());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // non-positive concurrency is treated as sequential validation
+            Assert.assertArrayEquals(new boolean[] {true, false}, 
+                    schema.validateAll(values.stream(), executor, 0));
+            Assert.assertArrayEquals(new boolean[] {true, false}, 
+                    schema.validateAll(values.stream(), executor, -1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class CompactLocatorTest {
+
+    private final static String JSON_SCHEMA_IDS_FILE = "draft4/schemas/ids.json";
+    private final static String JSON_OTHER_SCHEMA_ID = "other.json";
+
+    private final static String JSON_SCHEMA_LOCAL_REFERENCE_FILE = "draft4/schemas/ref-local.json";
+    private final static String JSON_SCHEMA_EXTERNAL_REFERENCE_FILE = "draft4/schemas/ref-external.json";
+    private final static String JSON_SCHEMA_EXTERNAL_FRAGMENT_REFERENCE_FILE = "draft4/schemas/ref-external-fragment.json";
+    
+    private final static String JSON_FILE = "draft4/data/ref.json";
+
+    @Test
+    public void test_01() throws JsonSchemaException, URISyntaxException, IOException, JsonException {
+        URL url = CompactLocatorTest.class.getClassLoader().getResource(JSON_SCHEMA_IDS_FILE);
+        DefaultJsonSchemaLocator locator = new DefaultJsonSchemaLocator(url.toURI());
+        JsonSchema schema = getReader().read(locator);
+
+        URI other = schema.getId().resolve(JSON_OTHER_SCHEMA_ID);
+        Assert.assertNotNull("unresolved " + JSON_OTHER_SCHEMA_ID, locator.getSchema(other, "/"));
+        Assert.assertNotNull(locator.getSchema("/"));
+    }
+
+    @Test
+    public void test_02() {
+        Assert.assertTrue(test(JSON_SCHEMA_LOCAL_REFERENCE_FILE, JSON_FILE).isEmpty());
+    }
+    
+    @Test
+    public void test_03() {
+        Assert.assertTrue(test(JSON_SCHEMA_EXTERNAL_REFERENCE_FILE, JSON_FILE).isEmpty());
+    }
+    
+    @Test
+    public void test_04() {
+        Assert.assertTrue(test(JSON_SCHEMA_EXTERNAL_FRAGMENT_REFERENCE_FILE, JSON_FILE).isEmpty());
+    }
+
+    private List<ValidationError> test(String fschema, String file) {
+
+        List<ValidationError> errors = new ArrayList<>();
+        
+        try (InputStream in = CompactLocatorTest.class.getClassLoader().getResourceAsStream(file)) {
+            URL url = CompactLocatorTest.class.getClassLoader().getResource(fschema);
+            
+            JsonSchema schema = getReader().read(url);
+            JsonValue json = Json.createReader(in).readValue();
+            
+            schema.validate(json, errors);
+        } catch (IOException | JsonSchemaException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        
+        return errors;
+    }
+    
+    private static JsonSchemaReader getReader() {
+        return JsonSchemaReader.getReader(
+                new JsonSchemaParserConfig().setCompactAfterResolve(true));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import javax.json.Json;
+import javax.json.JsonValue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonDeduplicationTest {
+
+    private final static String JSON_SCHEMA_FILE = "draft7/schemas/deduplicate.json";
+    private final static String JSON_FILE_01 = "draft7/data/deduplicate_01.json";
+    private final static String JSON_FILE_02 = "draft7/data/deduplicate_02_fail.json";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonObjectSchema schema = (JsonObjectSchema)read();
+        final JsonProperties properties = schema.getProperties();
+        
+        Assert.assertSame(properties.get("home"), properties.get("work"));
+        Assert.assertNotSame(properties.get("home"), properties.get("other"));
+    }
+
+    @Test
+    public void test_02() {
+        Assert.assertTrue(test(JSON_FILE_01).isEmpty());
+    }
+
+    @Test
+    public void test_03() {
+        Assert.assertFalse(test(JSON_FILE_02).isEmpty());
+    }
+
+    private List<ValidationError> test(String file) {
+        List<ValidationError> errors = new ArrayList<>();
+        
+        try (InputStream in = JsonDeduplicationTest.class.getClassLoader().getResourceAsStream(file)) {
+            JsonSchema schema = read();
+            JsonValue json = Json.createReader(in).readValue();
+            
+            schema.validate(json, errors);
+        } catch (IOException | JsonSchemaException ex) {
+            Assert.fail(ex.getMessage());
+        }
+        
+        return errors;
+    }
+
+    private JsonSchema read() throws JsonSchemaException {
+        final URL url = JsonDeduplicationTest.class.getClassLoader().getResource(JSON_SCHEMA_FILE);
+        return JsonSchemaReader.getReader(
+                new JsonSchemaParserConfig().setDeduplicateSubschemas(true)).read(url);
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonDiscriminatorTest {
+    
+    private final static int VARIANTS = 40;
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read("oneOf");
+        
+        // evaluation of all subschemas would take more than VARIANTS steps
+        final ValidationLimits limits = new ValidationLimits().setMaxSteps(VARIANTS);
+        
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(object("k6", 6), errors, null, limits));
+        Assert.assertTrue(errors.isEmpty());
+
+        // invalid values report the same errors as without the index
+        // ("a" value is matched by both the "k1" and the not discriminated subschemas)
+        for (JsonObject object : List.of(object("k1", "a"), object("k3", "a"), object("unknown", 1), 
+                Json.createObjectBuilder().add("value", 1).build())) {
+            final List<ValidationError> indexed = new ArrayList<>();
+            Assert.assertFalse(schema.validate(object, indexed));
+            final List<ValidationError> full = new ArrayList<>();
+            Assert.assertFalse(schema.validate(object, full, (m, p, v, r, e) -> {}));
+            Assert.assertEquals(toString(full), toString(indexed));
+        }
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read("anyOf");
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(object("k1", "a"), errors));
+        Assert.assertTrue(schema.validate(object("unknown", "a"), errors));
+        Assert.assertFalse(schema.validate(object("k3", 1.5), errors));
+        Assert.assertFalse(errors.isEmpty());
+    }
+
+    private static JsonObject object(String kind, Object value) {
+        return Json.createObjectBuilder().add("kind", kind)
+                .add("value", value instanceof String s ? Json.createValue(s) : 
+                        value instanceof Integer i ? Json.createValue(i) : 
+                        Json.createValue((Double)value)).build();
+    }
+
+    private static JsonSchema read(String keyword) throws JsonSchemaException {
+        final JsonArrayBuilder variants = Json.createArrayBuilder();
+        for (int i = 0; i < VARIANTS; i++) {
+            variants.add(Json.createObjectBuilder()
+                    .add("type", "object")
+                    .add("required", Json.createArrayBuilder().add("kind"))
+                    .add("properties", Json.createObjectBuilder()
+                        .add("kind", Json.createObjectBuilder().add("const", "k" + i))
+                        .add("value", Json.createObjectBuilder().add("type", i % 2 == 0 ? "integer" : "string"))));
+        }
+        // not discriminated subschema
+        variants.add(Json.createObjectBuilder()
+                .add("type", "object")
+                .add("required", Json.createArrayBuilder().add("value"))
+                .add("properties", Json.createObjectBuilder()
+                    .add("value", Json.createObjectBuilder().add("type", "string"))));
+        
+        final JsonValue json = Json.createObjectBuilder()
+                .add("$schema", "https://json-schema.org/draft/2020-12/schema")
+                .add(keyword, variants).build();
+        
+        return JsonSchemaTestUtil.read(json);
+    }
+
+    private static List<String> toString(List<ValidationError> errors) {
+        final List<String> list = new ArrayList<>();
+        for (ValidationError error : errors) {
+            list.add(error.code + " " + error.path + " " + error.pointer + " " + error.message);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.validate;
+import java.util.ArrayList;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonEnumLookupTest {
+    
+    private final static int TERMS = 20000;
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read(
+                "{\"enum\": [1, \"a\", null, [1, {\"x\": 2}], {\"a\": 1, \"b\": [true]}]}");
+
+        Assert.assertTrue(validate(schema, "1.0"));
+        Assert.assertTrue(validate(schema, "\"a\""));
+        Assert.assertTrue(validate(schema, "null"));
+        Assert.assertTrue(validate(schema, "[1.0, {\"x\": 2.0}]"));
+        Assert.assertTrue(validate(schema, "{\"b\": [true], \"a\": 1.0}"));
+
+        Assert.assertFalse(validate(schema, "2"));
+        Assert.assertFalse(validate(schema, "\"b\""));
+        Assert.assertFalse(validate(schema, "false"));
+        Assert.assertFalse(validate(schema, "[{\"x\": 2}, 1]"));
+        Assert.assertFalse(validate(schema, "{\"a\": 1}"));
+        Assert.assertFalse(validate(schema, "{\"a\": 1, \"b\": [true], \"c\": 1}"));
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonArrayBuilder terms = Json.createArrayBuilder();
+        for (int i = 0; i < TERMS; i++) {
+            terms.add("term:" + i);
+        }
+        final JsonSchema schema = read(Json.createObjectBuilder().add("type", "string")
+                .add("enum", terms).build().toString());
+
+        for (int i = 0; i < TERMS; i++) {
+            Assert.assertTrue(schema.validate(Json.createValue("term:" + i), new ArrayList<>()));
+        }
+        Assert.assertFalse(validate(schema, "\"term:" + TERMS + "\""));
+        Assert.assertFalse(validate(schema, "1"));
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema schema = read("{\"const\": {\"a\": [0, 1], \"b\": 2}}");
+        Assert.assertTrue(validate(schema, "{\"b\": 2.0, \"a\": [-0.0, 1]}"));
+        Assert.assertFalse(validate(schema, "{\"b\": 2, \"a\": [1, 0]}"));
+    }
+
+    @Test
+    public void test_04() throws JsonSchemaException {
+        final JsonArrayBuilder terms = Json.createArrayBuilder();
+        for (int i = 0; i < TERMS; i++) {
+            terms.add("t\u00e9rm-\u4e2d-" + i + (i % 2 == 0 ? "\ud83d\ude00" : ""));
+        }
+        final JsonSchema schema = read(new JsonSchemaParserConfig().setOffHeapEnums(true),
+                Json.createObjectBuilder().add("type", "string").add("enum", terms).build());
+
+        Assert.assertTrue(validate(schema, "\"t\u00e9rm-\u4e2d-0\ud83d\ude00\""));
+        Assert.assertTrue(validate(schema, "\"t\u00e9rm-\u4e2d-1\""));
+        Assert.assertFalse(validate(schema, "\"t\u00e9rm-\u4e2d-1\ud83d\ude00\""));
+        Assert.assertFalse(validate(schema, "\"t\u00e9rm-\u4e2d-0\""));
+        Assert.assertFalse(validate(schema, "\"term-\u4e2d-1\""));
+
+        final JsonEnum _enum = (JsonEnum)schema;
+        Assert.assertEquals(TERMS, _enum.getValues().size());
+        Assert.assertEquals(Json.createValue("t\u00e9rm-\u4e2d-1"), _enum.getValues().get(1));
+    }
+
+    @Test
+    public void test_05() throws JsonSchemaException {
+        // numbers beyond the double precision stay distinct
+        final JsonSchema _const = read("{\"const\": {\"a\": 9007199254740993}}");
+        Assert.assertTrue(validate(_const, "{\"a\": 9007199254740993.0}"));
+        Assert.assertFalse(validate(_const, "{\"a\": 9007199254740992}"));
+
+        final JsonSchema _enum = read("{\"enum\": [9007199254740993, [1e400], 0.1]}");
+        Assert.assertTrue(validate(_enum, "9007199254740993"));
+        Assert.assertTrue(validate(_enum, "[1.0e400]"));
+        Assert.assertTrue(validate(_enum, "0.10"));
+        Assert.assertFalse(validate(_enum, "9007199254740992"));
+        Assert.assertFalse(validate(_enum, "9007199254740994"));
+        Assert.assertFalse(validate(_enum, "[1e401]"));
+        Assert.assertFalse(validate(_enum, "0.1000000000000000001"));
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonLinesValidator;
+import es.elixir.bsc.json.schema.ValidationResult;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonLinesValidatorTest {
+    
+    private final static String SCHEMA = 
+            "{\"type\": \"object\", \"required\": [\"id\"], \"properties\": {" +
+            "\"id\": {\"type\": \"integer\"}, \"name\": {\"type\": \"string\"}}}";
+
+    private static ExecutorService executor;
+    
+    @BeforeClass
+    public static void init() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+    
+    @AfterClass
+    public static void close() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void test_01() throws Exception {
+        final byte[] data = records(1000).getBytes(StandardCharsets.UTF_8);
+        final JsonLinesValidator validator = new JsonLinesValidator(read(SCHEMA), executor, 3, 100);
+        
+        try (Stream<ValidationResult> results = validator.validate(new ByteArrayInputStream(data))) {
+            check(results.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void test_02() throws Exception {
+        final Path file = Files.createTempFile("records", ".jsonl");
+        try {
+            Files.writeString(file, records(1000));
+            final JsonLinesValidator validator = new JsonLinesValidator(read(SCHEMA), executor, 3, 100);
+            try (Stream<ValidationResult> results = validator.validate(file)) {
+                check(results.collect(Collectors.toList()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void test_03() throws Exception {
+        final String data = "{\"id\": 1} {\"id\": 2}\n{\"id\": 3}x\n{\"id\": 4} 5\n{\"id\": 5} \n";
+        final JsonLinesValidator validator = new JsonLinesValidator(read(SCHEMA), executor, 3, 100);
+
+        try (Stream<ValidationResult> results = validator.validate(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)))) {
+            final List<ValidationResult> list = results.collect(Collectors.toList());
+            Assert.assertEquals(4, list.size());
+            Assert.assertFalse(list.get(0).isValid());
+            Assert.assertFalse(list.get(1).isValid());
+            Assert.assertFalse(list.get(2).isValid());
+            Assert.assertTrue(list.get(3).isValid());
+        }
+    }
+
+    /**
+     * Every 7th record is invalid, every 10th line is empty.
+     */
+    private static String records(int n) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= n; i++) {
+            if (i % 10 == 0) {
+                sb.append('\n');
+            } else if (i % 7 == 0) {
+                sb.append("{\"id\": \"").append(i).append("\"}\n");
+            } else {
+                sb.append("{\"id\": ").append(i).append(", \"name\": \"record ").append(i).append("\"}\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void check(List<ValidationResult> results) {
+        Assert.assertEquals(900, results.size());
+        for (ValidationResult result : results) {
+            Assert.assertNotEquals(0, result.record % 10);
+            Assert.assertEquals(result.record % 7 != 0, result.isValid());
+        }
+        Assert.assertEquals(999, results.get(results.size() - 1).record);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.validate;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonNumericBoundsTest {
+    
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read("{\"type\": \"number\", \"minimum\": 0, \"maximum\": 9007199254740993}");
+
+        Assert.assertTrue(validate(schema, "0"));
+        Assert.assertTrue(validate(schema, "-0.0"));
+        Assert.assertTrue(validate(schema, "0.5"));
+        Assert.assertTrue(validate(schema, "9007199254740993"));
+        Assert.assertTrue(validate(schema, "9007199254740992.5"));
+        Assert.assertFalse(validate(schema, "-1"));
+        Assert.assertFalse(validate(schema, "-0.000001"));
+        Assert.assertFalse(validate(schema, "9007199254740994"));
+        Assert.assertFalse(validate(schema, "9007199254740993.5"));
+        Assert.assertFalse(validate(schema, "1e400"));
+        Assert.assertFalse(validate(schema, "100000000000000000000"));
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read("{\"type\": \"integer\", \"exclusiveMinimum\": -1.5, \"exclusiveMaximum\": 10}");
+
+        Assert.assertTrue(validate(schema, "-1"));
+        Assert.assertTrue(validate(schema, "9"));
+        Assert.assertTrue(validate(schema, "9.0"));
+        Assert.assertFalse(validate(schema, "-2"));
+        Assert.assertFalse(validate(schema, "10"));
+        Assert.assertFalse(validate(schema, "-100000000000000000000"));
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema integral = read("{\"type\": \"integer\", \"multipleOf\": 3}");
+        Assert.assertTrue(validate(integral, "-9"));
+        Assert.assertTrue(validate(integral, "300000000000000000000"));
+        Assert.assertFalse(validate(integral, "10"));
+        Assert.assertFalse(validate(integral, "300000000000000000001"));
+
+        final JsonSchema decimal = read("{\"type\": \"number\", \"multipleOf\": 0.1}");
+        Assert.assertTrue(validate(decimal, "0.3"));
+        Assert.assertTrue(validate(decimal, "7"));
+        Assert.assertFalse(validate(decimal, "0.35"));
+    }
+
+    @Test
+    public void test_04() throws JsonSchemaException {
+        // draft-04 boolean exclusive bounds
+        final JsonSchema schema = read("{\"$schema\": \"http://json-schema.org/draft-04/schema#\", " + 
+                "\"type\": \"number\", \"minimum\": 1.5, \"exclusiveMinimum\": true, " + 
+                "\"maximum\": 3, \"exclusiveMaximum\": true}");
+
+        Assert.assertTrue(validate(schema, "2"));
+        Assert.assertTrue(validate(schema, "2.999"));
+        Assert.assertFalse(validate(schema, "1.5"));
+        Assert.assertFalse(validate(schema, "1"));
+        Assert.assertFalse(validate(schema, "3"));
+    }
+
+    @Test
+    public void test_05() throws JsonSchemaException {
+        // exclusive bounds beyond the double precision
+        final JsonSchema number = read("{\"type\": \"number\", " + 
+                "\"exclusiveMinimum\": -9007199254740993, \"exclusiveMaximum\": 9007199254740993}");
+
+        Assert.assertTrue(validate(number, "9007199254740992"));
+        Assert.assertTrue(validate(number, "9007199254740992.5"));
+        Assert.assertTrue(validate(number, "-9007199254740992"));
+        Assert.assertFalse(validate(number, "9007199254740993"));
+        Assert.assertFalse(validate(number, "-9007199254740993"));
+
+        final JsonSchema integer = read("{\"type\": \"integer\", \"exclusiveMaximum\": 9007199254740993}");
+        Assert.assertTrue(validate(integer, "9007199254740992"));
+        Assert.assertFalse(validate(integer, "9007199254740993"));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.ValidationError;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonParallelValidationTest {
+    
+    private final static String SCHEMA = 
+            "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\", " +
+            "\"type\": \"array\", \"items\": {\"type\": \"object\", " +
+            "\"properties\": {\"id\": {\"type\": \"integer\", \"minimum\": 0}}, " +
+            "\"patternProperties\": {\"^p\": {\"type\": \"string\"}}, " +
+            "\"additionalProperties\": {\"type\": \"number\"}}, " +
+            "\"unevaluatedItems\": false}";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (int i = 0; i < 1000; i++) {
+            final JsonObjectBuilder object = Json.createObjectBuilder();
+            object.add("id", i % 13 == 0 ? -i : i);
+            for (int j = 0; j < 50; j++) {
+                if ((i + j) % 17 == 0) {
+                    object.add("p" + j, j);
+                    object.add("a" + j, "x");
+                } else {
+                    object.add("p" + j, "v");
+                    object.add("a" + j, j);
+                }
+            }
+            array.add(object);
+        }
+        final JsonValue value = array.build();
+
+        final List<ValidationError> sequential = new ArrayList<>();
+        final boolean valid = read(new JsonSchemaParserConfig(), SCHEMA).validate(value, sequential);
+        
+        final List<ValidationError> parallel = new ArrayList<>();
+        Assert.assertEquals(valid, read(new JsonSchemaParserConfig().setParallelThreshold(10), SCHEMA)
+                .validate(value, parallel));
+        
+        Assert.assertFalse(sequential.isEmpty());
+        Assert.assertEquals(toString(sequential), toString(parallel));
+    }
+
+    private static List<String> toString(List<ValidationError> errors) {
+        return errors.stream()
+                .map(e -> e.code + " " + e.pointer + " " + e.path + " " + e.message)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonValue;
+import org.junit.Assert;
+
+/**
+ * Shared helpers for the tests that define their schemas inline.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+final class JsonSchemaTestUtil {
+    
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    
+    private JsonSchemaTestUtil() {}
+    
+    static JsonSchema read(String json) throws JsonSchemaException {
+        return read(Collections.EMPTY_MAP, parse(json));
+    }
+
+    static JsonSchema read(Map<String, Object> config, String json) throws JsonSchemaException {
+        return read(config, parse(json));
+    }
+
+    static JsonSchema read(JsonValue json) throws JsonSchemaException {
+        return read(Collections.EMPTY_MAP, json);
+    }
+
+    /**
+     * Reads the schema under its own unique location.
+     * 
+     * @param config the parser configuration properties
+     * @param json the schema to read
+     * 
+     * @return parsed schema
+     * 
+     * @throws JsonSchemaException 
+     */
+    static JsonSchema read(Map<String, Object> config, JsonValue json) throws JsonSchemaException {
+        final DefaultJsonSchemaLocator locator = new DefaultJsonSchemaLocator(
+                URI.create("urn:test:schema:" + COUNTER.incrementAndGet()));
+        locator.setSchema(json);
+        return JsonSchemaReader.getReader(config).read(locator);
+    }
+
+    static JsonValue parse(String json) {
+        return Json.createReader(new StringReader(json)).readValue();
+    }
+
+    static boolean validate(JsonSchema schema, String json) {
+        return errors(schema, json).isEmpty();
+    }
+
+    /**
+     * Validates the Json value checking that the result agrees with the errors.
+     * 
+     * @param schema the schema to validate against
+     * @param json the Json value to validate
+     * 
+     * @return the list of found errors
+     */
+    static List<ValidationError> errors(JsonSchema schema, String json) {
+        final List<ValidationError> errors = new ArrayList<>();
+        final boolean valid = schema.validate(parse(json), errors);
+        Assert.assertEquals(valid, errors.isEmpty());
+        return errors;
+    }
+}
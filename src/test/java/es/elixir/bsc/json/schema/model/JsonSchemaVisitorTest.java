@@ -0,0 +1,144 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import es.elixir.bsc.json.schema.model.impl.AbstractJsonSchemaElement;
+import es.elixir.bsc.json.schema.model.impl.JsonSchemaIndex;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonSchemaVisitorTest {
+    
+    private final static String JSON_SCHEMA_LOCAL_REFERENCE_FILE = "draft4/schemas/ref-local.json";
+
+    private final static String RECURSIVE_SCHEMA = 
+            "{\"type\": \"object\", \"properties\": {" +
+            "\"name\": {\"type\": \"string\"}, " +
+            "\"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#\"}}}}";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final URL url = JsonSchemaVisitorTest.class.getClassLoader().getResource(JSON_SCHEMA_LOCAL_REFERENCE_FILE);
+        final JsonSchema schema = JsonSchemaReader.getReader().read(url);
+        
+        final List<JsonSchemaElement> visited = new ArrayList<>();
+        schema.accept((element, path) -> {
+            // no copies are created
+            Assert.assertTrue(path.isEmpty() || path.get(path.size() - 1) != element);
+            visited.add(element);
+            return true;
+        });
+
+        Assert.assertSame(schema, visited.get(0));
+        Assert.assertTrue(visited.stream().anyMatch(e -> e instanceof JsonEnum));
+
+        final JsonSchemaIndex index = new JsonSchemaIndex((AbstractJsonSchemaElement)schema);
+        Assert.assertSame(schema, index.find("/"));
+        
+        final JsonSchema gender = index.find("/properties/gender");
+        Assert.assertNotNull(gender);
+        Assert.assertSame(gender, index.get(gender.getId()));
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read(RECURSIVE_SCHEMA);
+
+        final int[] depth = new int[1];
+        schema.accept((element, path) -> {
+            depth[0] = Math.max(depth[0], path.size());
+            return true;
+        });
+
+        // the cyclic reference to the root is not followed
+        Assert.assertTrue(depth[0] > 0 && depth[0] < 10);
+    }
+    
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final URL url = JsonSchemaVisitorTest.class.getClassLoader().getResource(JSON_SCHEMA_LOCAL_REFERENCE_FILE);
+        final JsonSchema schema = JsonSchemaReader.getReader().read(url);
+
+        // skip children of the root
+        final List<JsonSchemaElement> visited = new ArrayList<>();
+        schema.accept((element, path) -> visited.add(element) && false);
+        
+        Assert.assertEquals(1, visited.size());
+    }
+
+    @Test(timeout = 10000)
+    public void test_04() throws JsonSchemaException {
+        // nested untyped schemas are wrapped into all the types
+        final String nested = "{\"allOf\": [".repeat(7) + "{}" + "]}".repeat(7);
+        final JsonSchema schema = read(nested);
+        
+        final long children = schema.getChildren().count();
+        final long[] visits = new long[1];
+        schema.accept((element, path) -> ++visits[0] > 0);
+        Assert.assertTrue(visits[0] + " visits", visits[0] <= 2 * children + 1);
+    }
+
+    @Test(timeout = 10000)
+    public void test_05() throws JsonSchemaException {
+        // every definition refers the next one twice
+        final StringBuilder defs = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            defs.append("\"d").append(i).append("\": {\"type\": \"object\", \"properties\": {")
+                .append("\"a\": {\"$ref\": \"#/$defs/d").append(i + 1).append("\"}, ")
+                .append("\"b\": {\"$ref\": \"#/$defs/d").append(i + 1).append("\"}}}, ");
+        }
+        defs.append("\"d20\": {\"type\": \"string\"}");
+        final JsonSchema schema = read(
+                "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\", " + 
+                "\"$ref\": \"#/$defs/d0\", \"$defs\": {" + defs + "}}");
+
+        final List<JsonSchemaElement> visited = new ArrayList<>();
+        schema.accept((element, path) -> visited.add(element));
+        Assert.assertTrue(visited.size() + " visits", visited.size() < 200);
+        Assert.assertEquals(visited.size(), visited.stream().distinct().count());
+    }
+
+    @Test
+    public void test_06() throws JsonSchemaException {
+        final URL url = JsonSchemaVisitorTest.class.getClassLoader().getResource(JSON_SCHEMA_LOCAL_REFERENCE_FILE);
+        final JsonSchema schema = JsonSchemaReader.getReader().read(url);
+
+        Assert.assertSame(schema, schema.findSubschema("/"));
+        final JsonSchema gender = schema.findSubschema("/properties/gender");
+        Assert.assertNotNull(gender);
+        Assert.assertSame(gender, schema.getSubschema(gender.getId()));
+        Assert.assertNull(schema.findSubschema("/properties/unknown"));
+    }
+}
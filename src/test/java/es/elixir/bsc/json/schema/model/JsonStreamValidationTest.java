@@ -0,0 +1,261 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaReader;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationException;
+import es.elixir.bsc.json.schema.impl.DefaultJsonSchemaLocator;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the streaming validation against the Json model validation.
+ * 
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonStreamValidationTest {
+    
+    private final static String JSON_SCHEMA_ORG_TESTS = "json-schema-org/tests/";
+    
+    private final static String NESTED_SCHEMA =
+            "{\"type\": \"object\", \"required\": [\"id\"], \"properties\": {" +
+            "\"id\": {\"type\": \"integer\", \"minimum\": 1}, " +
+            "\"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\", \"maxLength\": 3}}, " +
+            "\"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#\"}}}, " +
+            "\"additionalProperties\": false}";
+
+    @Test
+    public void test_01() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        
+        test(schema, Json.createReader(new StringReader(
+                "{\"id\": 1, \"tags\": [\"a\", \"b\"], \"children\": [{\"id\": 2}, {\"id\": 3, \"children\": []}]}"))
+                .readValue());
+        
+        test(schema, Json.createReader(new StringReader(
+                "{\"id\": 0, \"tags\": [\"abcd\", 1], \"children\": [{\"name\": 2}, {\"id\": 3, \"children\": {}}]}"))
+                .readValue());
+    }
+
+    @Test
+    public void test_02() throws Exception {
+        test("draft4");
+        test("draft6");
+        test("draft7");
+        test("draft2019-09");
+        test("draft2020-12");
+    }
+    
+    @Test
+    public void test_03() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        final String json = "{\"id\": 0, \"tags\": [\"abcd\"], \"children\": [{\"name\": 2}]}";
+
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader(json)), errors::add)) {
+            while (parser.hasNext()) {
+                if (parser.next() == JsonParser.Event.KEY_NAME && "children".equals(parser.getString())) {
+                    parser.next();
+                    // the value read by the application is validated as well
+                    Assert.assertEquals(1, parser.getArray().size());
+                }
+            }
+        }
+
+        final List<ValidationError> expected = new ArrayList<>();
+        schema.validate(Json.createReader(new StringReader(json)).readValue(), expected);
+        Assert.assertEquals(toString(expected), toString(errors));
+    }
+
+    @Test(expected = ValidationException.class)
+    public void test_04() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader("{\"id\": 1, \"tags\": [1]}")), null)) {
+            parser.next();
+            parser.skipObject();
+        }
+    }
+
+    @Test
+    public void test_05() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = schema.createValidatingGenerator(Json.createGenerator(writer))) {
+            generator.writeStartObject()
+                     .write("id", 1)
+                     .writeStartArray("tags").write("a").writeEnd()
+                     .writeStartArray("children")
+                     .write(Json.createObjectBuilder().add("id", 2).build())
+                     .writeEnd()
+                     .writeEnd();
+        }
+        Assert.assertEquals("{\"id\":1,\"tags\":[\"a\"],\"children\":[{\"id\":2}]}", writer.toString());
+    }
+
+    @Test
+    public void test_06() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        final JsonGenerator generator = schema.createValidatingGenerator(
+                Json.createGenerator(new StringWriter()));
+        generator.writeStartObject().write("id", 1).writeStartArray("tags");
+        try {
+            generator.write("abcd");
+            Assert.fail();
+        } catch (ValidationException ex) {
+            Assert.assertEquals("//tags/0", ex.error.path);
+        }
+    }
+
+    @Test
+    public void test_07() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        final String json = "{\"id\": 0, \"tags\": [\"abcd\", \"a\"], \"children\": [{\"name\": 2}]}";
+
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader(json)), errors::add)) {
+            parser.next();
+            final List<String> keys = new ArrayList<>();
+            parser.getObjectStream().forEach(e -> keys.add(e.getKey()));
+            Assert.assertEquals(List.of("id", "tags", "children"), keys);
+            Assert.assertFalse(parser.hasNext());
+        }
+
+        final List<ValidationError> expected = new ArrayList<>();
+        schema.validate(Json.createReader(new StringReader(json)).readValue(), expected);
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(toString(expected), toString(errors));
+    }
+
+    @Test
+    public void test_08() throws Exception {
+        final JsonSchema schema = read("{\"type\": \"array\", \"items\": {\"type\": \"integer\"}}");
+
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader("[1, \"a\", 3]")), errors::add)) {
+            parser.next();
+            Assert.assertEquals(3, parser.getArrayStream().count());
+        }
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals("//1", errors.get(0).path);
+
+        errors.clear();
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader("[1, 2, 3]")), errors::add)) {
+            Assert.assertEquals(1, parser.getValueStream().count());
+        }
+        Assert.assertTrue(errors.isEmpty());
+
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader("{}")), errors::add)) {
+            Assert.assertEquals(1, parser.getValueStream().count());
+        }
+        Assert.assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void test_09() throws Exception {
+        final JsonSchema schema = read(NESTED_SCHEMA);
+        try {
+            schema.createValidatingGenerator(Json.createGenerator(new StringWriter())).writeEnd();
+            Assert.fail();
+        } catch (JsonGenerationException ex) {}
+
+        try {
+            schema.createValidatingGenerator(Json.createGenerator(new StringWriter())).write("id", 1);
+            Assert.fail();
+        } catch (JsonGenerationException ex) {}
+    }
+
+    private void test(String draft) throws IOException, URISyntaxException {
+        final URL url = JsonStreamValidationTest.class.getClassLoader().getResource(JSON_SCHEMA_ORG_TESTS + draft);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(url.toURI()), "*.json")) {
+            for (Path file : files) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    final JsonArray array = Json.createReader(in).readArray();
+                    for (int j = 0, n = array.size(); j < n; j++) {
+                        final JsonObject obj = array.getJsonObject(j);
+                        final DefaultJsonSchemaLocator locator = 
+                                new DefaultJsonSchemaLocator(file.toUri().resolve(Integer.toString(j)));
+                        locator.setSchema(obj.get("schema"));
+                        final JsonSchema schema;
+                        try {
+                            schema = JsonSchemaReader.getReader().read(locator);
+                        } catch (JsonSchemaException ex) {
+                            continue;
+                        }
+                        for (JsonValue test : obj.getJsonArray("tests")) {
+                            test(schema, test.asJsonObject().get("data"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void test(JsonSchema schema, JsonValue data) {
+        final List<ValidationError> errors = new ArrayList<>();
+        final boolean valid = schema.validate(data, errors);
+
+        final List<ValidationError> stream_errors = new ArrayList<>();
+        try (JsonParser parser = Json.createParser(new StringReader(data.toString()))) {
+            Assert.assertEquals(data.toString(), valid, schema.validate(parser, stream_errors, null));
+        }
+        
+        Assert.assertEquals(data.toString(), toString(errors), toString(stream_errors));
+    }
+    
+    private static List<String> toString(List<ValidationError> errors) {
+        return errors.stream()
+                .map(e -> e.code + " " + e.id + " " + e.pointer + " " + e.path + " " + e.message)
+                .sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.ValidationError;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonStringSchemaTest {
+
+    private final static String[] PATTERNS = {
+        "", "^", "$", "^$", "abc", "^abc", "abc$", "^abc$", "^abc.*", "a\\.c", "^a\\-c$", 
+        "a.c", "^ab?c", "\\d+", "abc\\.*", "(?i)abc", "^\u00e9\ud83d\ude00$",
+        "^[0-9]+$", "^[A-Z]{3}$", "^ABC_", "^https://", "[a-z]{2,}$", "[0-9]", "^[^a]{2}$", 
+        "^id-\\d{2,4}", "^[\\w.-]+$", "^[a-f0-9]{8}-", "\\s", "^[-+]?[0-9]*$", "^[a-c]?$", 
+        "[^0-9]+$", "^[A-Z][a-z]+$", "^x{2}", "[a-z]{2,3}", "^[^a]*$", "[a-z]+$"};
+
+    private final static String[] STRINGS = {
+        "", "abc", "xabc", "abcx", "xabcx", "abc\n", "abc\r\n", "\n", "a.c", "a-c", 
+        "ABC", "a1c", "ac", "\u00e9\ud83d\ude00", "\u00e9\ud83d\ude00\u2028",
+        "123", "12a", "ABCD", "ABC_1", "https://x", "id-12", "id-12345", "abc.def-g", "deadbeef-1", 
+        "a b", "bb", "\ud83d\ude00", "\ud83d\ude00\ud83d\ude00", "1\n", "Abc", "xx", "]", "-12"};
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        for (String regex : PATTERNS) {
+            final JsonSchema schema = read(Json.createObjectBuilder()
+                    .add("type", "string").add("pattern", regex).build());
+            final Pattern pattern = Pattern.compile(regex);
+            for (String string : STRINGS) {
+                Assert.assertEquals(regex + " : " + string, pattern.matcher(string).find(), 
+                        schema.validate(Json.createValue(string), new ArrayList<>()));
+            }
+        }
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "string").add("minLength", 2).add("maxLength", 3).build());
+
+        Assert.assertFalse(schema.validate(Json.createValue("a"), new ArrayList<>()));
+        Assert.assertTrue(schema.validate(Json.createValue("ab"), new ArrayList<>()));
+        Assert.assertTrue(schema.validate(Json.createValue("\ud83d\ude00\ud83d\ude00"), new ArrayList<>()));
+        Assert.assertTrue(schema.validate(Json.createValue("\ud83d\ude00\ud83d\ude00\ud83d\ude00"), new ArrayList<>()));
+
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(Json.createValue("\ud83d\ude00"), errors));
+        Assert.assertFalse(schema.validate(Json.createValue("\ud83d\ude00abcd"), errors));
+        Assert.assertEquals(2, errors.size());
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "object")
+                .add("patternProperties", Json.createObjectBuilder()
+                    .add("^x-", Json.createObjectBuilder().add("type", "string"))
+                    .add("^[0-9]+$", Json.createObjectBuilder().add("type", "integer")))
+                .add("additionalProperties", false).build());
+
+        Assert.assertTrue(schema.validate(Json.createObjectBuilder()
+                .add("x-a", "a").add("12", 12).build(), new ArrayList<>()));
+
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(Json.createObjectBuilder()
+                .add("x-a", 1).add("12", "a").add("12a", 1).build(), errors));
+        Assert.assertEquals(3, errors.size());
+    }
+
+    @Test
+    public void test_04() throws JsonSchemaException {
+        final JsonSchema schema = read(Json.createObjectBuilder()
+                .add("type", "string").add("format", "duration").build());
+
+        for (String duration : new String[] {"P4DT12H30M5S", "P4Y", "P1M", "PT0S", "P0D", 
+                "P2W", "PT36H", "P1Y2M3DT4H5M6S", "PT1M30S"}) {
+            Assert.assertTrue(duration, schema.validate(Json.createValue(duration), new ArrayList<>()));
+        }
+
+        final List<ValidationError> errors = new ArrayList<>();
+        for (String duration : new String[] {"", "P", "PT", "4DT12H30M5S", "P2D1Y", "P1D2H", 
+                "P2S", "PT1D", "P1Y2W", "P1", "PT1H2", "P1YT", "P\u0662Y", "p1D"}) {
+            Assert.assertFalse(duration, schema.validate(Json.createValue(duration), errors));
+        }
+        Assert.assertEquals(14, errors.size());
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.ValidationError;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.errors;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonUniqueItemsTest {
+    
+    private final static String SCHEMA = "{\"type\": \"array\", \"uniqueItems\": true}";
+    
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+
+        Assert.assertEquals(0, errors(schema, "[1, \"1\", [1], {\"a\": 1}, true, null]").size());
+        Assert.assertEquals(1, errors(schema, "[1, 1.0]").size());
+        Assert.assertEquals(1, errors(schema, "[0, -0.0]").size());
+        Assert.assertEquals(1, errors(schema, "[[1, [2]], [1.0, [2.0]]]").size());
+        Assert.assertEquals(1, errors(schema, "[{\"a\": 1, \"b\": [1]}, {\"b\": [1.0], \"a\": 1.0}]").size());
+        Assert.assertEquals(0, errors(schema, "[{\"a\": 1}, {\"a\": 1, \"b\": 1}]").size());
+        Assert.assertEquals(2, errors(schema, "[\"a\", \"b\", \"a\", true, true]").size());
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+
+        final JsonArrayBuilder ids = Json.createArrayBuilder();
+        for (int i = 0; i < 100000; i++) {
+            ids.add(i);
+        }
+        final JsonArray array = ids.build();
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(array, errors));
+        Assert.assertFalse(schema.validate(Json.createArrayBuilder(array).add(99999.0).build(), errors));
+        Assert.assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+
+        // numbers beyond the double precision stay distinct
+        Assert.assertEquals(0, errors(schema, "[9007199254740993, 9007199254740992]").size());
+        Assert.assertEquals(0, errors(schema, "[[9007199254740993], [9007199254740992]]").size());
+        Assert.assertEquals(0, errors(schema, "[{\"id\": 9007199254740993}, {\"id\": 9007199254740992}]").size());
+        Assert.assertEquals(0, errors(schema, "[1e400, 1e401]").size());
+        Assert.assertEquals(1, errors(schema, "[9007199254740993, 9007199254740993.0]").size());
+        Assert.assertEquals(1, errors(schema, "[1e400, 10e399]").size());
+    }
+
+    @Test
+    public void test_04() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+
+        final JsonArrayBuilder ids = Json.createArrayBuilder();
+        for (int i = 0; i < 100000; i++) {
+            ids.add("id:" + i);
+        }
+        final JsonArray array = ids.build();
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertTrue(schema.validate(array, errors));
+        Assert.assertFalse(schema.validate(Json.createArrayBuilder(array).add("id:99999").build(), errors));
+        Assert.assertEquals(1, errors.size());
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.ValidationError;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class ProbeValidationTest {
+    
+    private final static String SCHEMA = 
+            "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\", " +
+            "\"type\": \"array\", \"items\": {" +
+            "\"oneOf\": [{\"type\": \"string\", \"maxLength\": 3}, {\"type\": \"integer\", \"minimum\": 0}, " +
+                        "{\"type\": \"object\", \"required\": [\"id\"]}], " +
+            "\"anyOf\": [{\"not\": {\"const\": \"x\"}}, {\"type\": \"number\"}], " +
+            "\"if\": {\"type\": \"object\"}, \"then\": {\"properties\": {\"id\": {\"type\": \"integer\"}}}}, " +
+            "\"contains\": {\"type\": \"integer\"}}";
+    
+    private final static String DATA = 
+            "[\"a\", \"abcd\", \"x\", 1, -1, 1.5, {\"id\": 1}, {\"id\": \"a\"}, {}, true, null]";
+
+    private final static String TYPES_SCHEMA = 
+            "{\"oneOf\": [{\"enum\": [\"a\", 1]}, {\"const\": true}, false, " +
+            "{\"type\": \"object\"}, {\"type\": [\"array\", \"null\"], \"maxItems\": 0}]}";
+
+    private final static String TYPES_DATA = 
+            "[\"a\", 1, true, false, {}, \"b\", [1], null]";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+        
+        final JsonArray data = Json.createReader(new StringReader(DATA)).readArray();
+        for (JsonValue value : data) {
+            final JsonArray array = Json.createArrayBuilder().add(value).build();
+
+            final List<ValidationError> probed = new ArrayList<>();
+            final boolean valid = schema.validate(array, probed);
+
+            // the callback disables probing
+            final List<ValidationError> evaluated = new ArrayList<>();
+            Assert.assertEquals(valid, schema.validate(array, evaluated, 
+                    (model, pointer, val, parent, err) -> {}));
+            
+            Assert.assertEquals(toString(evaluated), toString(probed));
+        }
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final JsonSchema schema = read(TYPES_SCHEMA);
+
+        final JsonArray data = Json.createReader(new StringReader(TYPES_DATA)).readArray();
+        final boolean[] valid = {true, true, true, false, true, false, false, true};
+        for (int i = 0; i < valid.length; i++) {
+            final List<ValidationError> probed = new ArrayList<>();
+            Assert.assertEquals(valid[i], schema.validate(data.get(i), probed));
+            
+            final List<ValidationError> evaluated = new ArrayList<>();
+            schema.validate(data.get(i), evaluated, (model, pointer, val, parent, err) -> {});
+            Assert.assertEquals(toString(evaluated), toString(probed));
+        }
+    }
+
+    private static List<String> toString(List<ValidationError> errors) {
+        final List<String> list = new ArrayList<>();
+        for (ValidationError error : errors) {
+            list.add(error.code + " " + error.path + " " + error.pointer + " " + error.message);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorSink;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationErrorSinkTest {
+    
+    private final static String SCHEMA = 
+            "{\"type\": \"array\", \"items\": {\"anyOf\": [" +
+            "{\"type\": \"string\", \"maxLength\": 2}, {\"type\": \"integer\"}]}}";
+
+    private final static String DATA = "[\"a\", \"abc\", 1, 1.5, \"ab\", true]";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonSchema schema = read(SCHEMA);
+        final JsonValue value = Json.createReader(new StringReader(DATA)).readValue();
+        
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(value, errors));
+
+        final ValidationErrorSink counting = ValidationErrorSink.counting();
+        Assert.assertFalse(schema.validate(value, counting));
+        Assert.assertEquals(errors.size(), counting.getCount());
+        Assert.assertTrue(counting.getErrors().isEmpty());
+
+        final ValidationErrorSink first = ValidationErrorSink.first(2);
+        Assert.assertFalse(schema.validate(value, first));
+        Assert.assertEquals(errors.size(), first.getCount());
+        Assert.assertEquals(2, first.size());
+        Assert.assertEquals(errors.get(0).message, first.get(0).message);
+
+        final ValidationErrorSink collecting = ValidationErrorSink.collecting();
+        Assert.assertFalse(schema.validate(value, collecting));
+        Assert.assertEquals(errors.size(), collecting.getErrors().size());
+        
+        final StringWriter writer = new StringWriter();
+        Assert.assertFalse(schema.validate(value, ValidationErrorSink.writer(writer)));
+        Assert.assertEquals(errors.size(), writer.toString().lines().count());
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final ValidationErrorSink counting = ValidationErrorSink.counting();
+        Assert.assertTrue(read(SCHEMA).validate(Json.createReader(new StringReader("[\"a\", 1]")).readValue(), counting));
+        Assert.assertEquals(0, counting.getCount());
+    }
+
+    @Test
+    public void test_03() {
+        final ValidationError error = new ValidationError("error");
+
+        final ValidationErrorSink counting = ValidationErrorSink.counting();
+        counting.add(error);
+        Assert.assertEquals(1, counting.getCount());
+        Assert.assertEquals(0, counting.size());
+        Assert.assertTrue(counting.isEmpty());
+        Assert.assertFalse(counting.iterator().hasNext());
+        Assert.assertEquals(1, ValidationErrorSink.count(counting));
+
+        final ValidationErrorSink first = ValidationErrorSink.first(1);
+        first.add(error);
+        first.add(new ValidationError("other"));
+        Assert.assertEquals(2, first.getCount());
+        Assert.assertEquals(1, first.size());
+        Assert.assertSame(error, first.get(first.size() - 1));
+    }
+}
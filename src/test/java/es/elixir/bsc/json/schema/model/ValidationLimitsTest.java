@@ -0,0 +1,152 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.JsonSchemaException;
+import es.elixir.bsc.json.schema.JsonSchemaParserConfig;
+import es.elixir.bsc.json.schema.ValidationError;
+import es.elixir.bsc.json.schema.ValidationErrorCode;
+import es.elixir.bsc.json.schema.ValidationLimits;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationLimitsTest {
+    
+    private final static String SCHEMA = 
+            "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\", " +
+            "\"anyOf\": [{\"type\": \"integer\"}, {\"type\": \"array\", \"items\": {\"$ref\": \"#\"}}]}";
+
+    @Test
+    public void test_01() throws JsonSchemaException {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (int i = 0; i < 100; i++) {
+            array.add("x" + i);
+        }
+        final JsonValue value = array.build();
+        final JsonSchema schema = read(new JsonSchemaParserConfig(), SCHEMA);
+
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(value, errors, null, 
+                new ValidationLimits().setMaxErrors(5)));
+        Assert.assertEquals(6, errors.size());
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_ERRORS_LIMIT, 
+                errors.get(5).code);
+
+        errors.clear();
+        Assert.assertFalse(schema.validate(value, errors, null, 
+                new ValidationLimits().setMaxSteps(10)));
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_STEPS_LIMIT, 
+                errors.get(errors.size() - 1).code);
+
+        errors.clear();
+        Assert.assertFalse(schema.validate(value, errors, null, 
+                new ValidationLimits().setDeadline(Instant.now().minusSeconds(1))));
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_DEADLINE_LIMIT, 
+                errors.get(0).code);
+    }
+
+    @Test
+    public void test_02() throws JsonSchemaException {
+        final String nested = "[".repeat(10000) + "]".repeat(10000);
+        final JsonSchema schema = read(new JsonSchemaParserConfig().setMaxDepth(20), SCHEMA);
+
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = Json.createParser(new StringReader(nested))) {
+            Assert.assertFalse(schema.validate(parser, errors, null));
+        }
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_DEPTH_LIMIT, errors.get(0).code);
+
+        final JsonValue value = Json.createReader(new StringReader("[".repeat(50) + "]".repeat(50))).readValue();
+        errors.clear();
+        Assert.assertFalse(schema.validate(value, errors));
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_DEPTH_LIMIT, errors.get(0).code);
+
+        errors.clear();
+        Assert.assertTrue(schema.validate(value, errors, null, null));
+        Assert.assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void test_03() throws JsonSchemaException {
+        final JsonSchema schema = read(new JsonSchemaParserConfig().setMaxDepth(2),
+                "{\"anyOf\": [{\"type\": \"integer\"}, " +
+                "{\"type\": \"object\", \"additionalProperties\": {\"$ref\": \"#\"}}]}");
+
+        // the depth is structural, so the '/' in property names is not a nesting
+        for (String json : new String[] {"{\"a/b/c/d/e\": 1}", "{\"a/b\": {\"c/d\": 1}}"}) {
+            final List<ValidationError> errors = new ArrayList<>();
+            Assert.assertTrue(json, schema.validate(Json.createReader(new StringReader(json)).readValue(), errors));
+            try (JsonParser parser = Json.createParser(new StringReader(json))) {
+                Assert.assertTrue(json, schema.validate(parser, errors, null));
+            }
+            Assert.assertTrue(errors.isEmpty());
+        }
+
+        final String json = "{\"a\": {\"b\": {\"c\": 1}}}";
+        final List<ValidationError> errors = new ArrayList<>();
+        Assert.assertFalse(schema.validate(Json.createReader(new StringReader(json)).readValue(), errors));
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            Assert.assertFalse(schema.validate(parser, errors, null));
+        }
+        Assert.assertEquals(2, errors.size());
+        for (ValidationError error : errors) {
+            Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_DEPTH_LIMIT, error.code);
+            Assert.assertTrue(error.path, error.path.endsWith("/a/b/c"));
+        }
+    }
+
+    @Test
+    public void test_04() throws JsonSchemaException {
+        final String nested = "[".repeat(10000) + "]".repeat(10000);
+        final JsonSchema schema = read(new JsonSchemaParserConfig().setMaxDepth(20), SCHEMA);
+
+        // the validating parser applies the schema limits as well
+        final List<ValidationError> errors = new ArrayList<>();
+        try (JsonParser parser = schema.createValidatingParser(
+                Json.createParser(new StringReader(nested)), errors::add)) {
+            while (parser.hasNext()) {
+                parser.next();
+            }
+        }
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals(ValidationErrorCode.VALIDATION_MAX_DEPTH_LIMIT, errors.get(0).code);
+    }
+}
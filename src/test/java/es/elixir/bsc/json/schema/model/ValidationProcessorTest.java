@@ -0,0 +1,182 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2022 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ * *****************************************************************************
+ */
+package es.elixir.bsc.json.schema.model;
+
+import es.elixir.bsc.json.schema.ValidationProcessor;
+import es.elixir.bsc.json.schema.ValidationResult;
+import static es.elixir.bsc.json.schema.model.JsonSchemaTestUtil.read;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.JsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class ValidationProcessorTest {
+    
+    private final static String SCHEMA = "{\"type\": \"integer\", \"multipleOf\": 3}";
+
+    @Test
+    public void test_01() throws Exception {
+        final List<ValidationResult> results = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Void> completed = new CompletableFuture<>();
+        
+        final ValidationProcessor processor = new ValidationProcessor(read(SCHEMA));
+        processor.subscribe(new Flow.Subscriber<ValidationResult>() {
+            private Flow.Subscription subscription;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ValidationResult result) {
+                results.add(result);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+
+        try (SubmissionPublisher<JsonValue> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 1; i <= 500; i++) {
+                publisher.submit(Json.createValue(i));
+            }
+        }
+        
+        completed.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(500, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final ValidationResult result = results.get(i);
+            Assert.assertEquals(i + 1, result.record);
+            Assert.assertEquals(result.record % 3 == 0, result.isValid());
+        }
+    }
+
+    @Test
+    public void test_02() throws Exception {
+        final List<ValidationResult> results = new CopyOnWriteArrayList<>();
+        
+        final ValidationProcessor processor = new ValidationProcessor(read(SCHEMA));
+        processor.subscribe(new Flow.Subscriber<ValidationResult>() {
+            private Flow.Subscription subscription;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(5);
+            }
+
+            @Override
+            public void onNext(ValidationResult result) {
+                results.add(result);
+                if (results.size() == 3) {
+                    subscription.cancel();
+                }
+            }
+
+            @Override public void onError(Throwable throwable) {}
+            @Override public void onComplete() {}
+        });
+
+        final SubmissionPublisher<JsonValue> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+        for (int i = 1; i <= 100 && !publisher.getSubscribers().isEmpty(); i++) {
+            publisher.offer(Json.createValue(i), null);
+            Thread.sleep(1);
+        }
+        publisher.close();
+        
+        Assert.assertEquals(3, results.size());
+        // cancellation is propagated to the upstream
+        Assert.assertTrue(publisher.getSubscribers().isEmpty());
+    }
+
+    @Test
+    public void test_03() throws Exception {
+        final List<Object> signals = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Throwable> failed = new CompletableFuture<>();
+        
+        final ValidationProcessor processor = new ValidationProcessor(read(SCHEMA));
+        processor.subscribe(new Flow.Subscriber<ValidationResult>() {
+            private Flow.Subscription subscription;
+            private volatile boolean active;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(ValidationResult result) {
+                active = true;
+                signals.add(result);
+                // the error must not be signalled from within onNext()
+                subscription.request(0);
+                active = false;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add(active ? "nested" : throwable);
+                failed.complete(throwable);
+            }
+
+            @Override public void onComplete() {}
+        });
+
+        try (SubmissionPublisher<JsonValue> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            publisher.submit(Json.createValue(3));
+            publisher.submit(Json.createValue(4));
+        }
+
+        Assert.assertTrue(failed.get(10, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+        Thread.sleep(100);
+        Assert.assertEquals(2, signals.size());
+        Assert.assertTrue(signals.get(0) instanceof ValidationResult);
+        Assert.assertTrue(signals.get(1) instanceof IllegalArgumentException);
+    }
+}
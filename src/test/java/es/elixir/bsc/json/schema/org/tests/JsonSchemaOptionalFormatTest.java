@@ -0,0 +1,78 @@
+/**
+ * *****************************************************************************
+ * Copyright (C) 2024 ELIXIR ES, Spanish National Bioinformatics Institute (INB)
+ * and Barcelona Supercomputing Center (BSC)
+ *
+ * Modifications to the initial code base are copyright of their respective
+ * authors, or their employers as appropriate.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ *****************************************************************************
+ */
+
+package es.elixir.bsc.json.schema.org.tests;
+
+import org.junit.Test;
+
+/**
+ * @author Dmitry Repchevsky
+ */
+
+public class JsonSchemaOptionalFormatTest extends JsonSchemaOrgTest {
+    
+    private final static String JSON_DRAFT7_DATE_TIME_TEST_FILE = "json-schema-org/tests/draft7/optional/format/date-time.json";
+    private final static String JSON_DRAFT7_DATE_TEST_FILE = "json-schema-org/tests/draft7/optional/format/date.json";
+    private final static String JSON_DRAFT7_TIME_TEST_FILE = "json-schema-org/tests/draft7/optional/format/time.json";
+    private final static String JSON_DRAFT7_IPV4_TEST_FILE = "json-schema-org/tests/draft7/optional/format/ipv4.json";
+    private final static String JSON_DRAFT7_IPV6_TEST_FILE = "json-schema-org/tests/draft7/optional/format/ipv6.json";
+    private final static String JSON_DRAFT7_HOSTNAME_TEST_FILE = "json-schema-org/tests/draft7/optional/format/hostname.json";
+    private final static String JSON_DRAFT7_EMAIL_TEST_FILE = "json-schema-org/tests/draft7/optional/format/email.json";
+    
+    @Test
+    public void test_date_time() {
+        test(JSON_DRAFT7_DATE_TIME_TEST_FILE);
+    }
+
+    @Test
+    public void test_date() {
+        test(JSON_DRAFT7_DATE_TEST_FILE);
+    }
+
+    @Test
+    public void test_time() {
+        test(JSON_DRAFT7_TIME_TEST_FILE);
+    }
+
+    @Test
+    public void test_ipv4() {
+        test(JSON_DRAFT7_IPV4_TEST_FILE);
+    }
+
+    @Test
+    public void test_ipv6() {
+        test(JSON_DRAFT7_IPV6_TEST_FILE);
+    }
+
+    @Test
+    public void test_hostname() {
+        test(JSON_DRAFT7_HOSTNAME_TEST_FILE);
+    }
+
+    @Test
+    public void test_email() {
+        test(JSON_DRAFT7_EMAIL_TEST_FILE);
+    }
+}